@@ -1,20 +1,37 @@
 package com.bgpack.client;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 import com.bgpack.exception.BggExceptions.QueuedException;
 import com.bgpack.exception.BggExceptions.RateLimitException;
+import com.bgpack.service.BggRateLimiter;
 
 import javax.net.ssl.SSLException;
+import java.net.URI;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 @Component
 @Slf4j
@@ -25,10 +42,16 @@ public class BggApiClient {
     private static final int MAX_RETRIES = 3;
 
     private final WebClient webClient;
+    private final BggRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
 
     public BggApiClient(@Value("${bgg.api.base-url}") final String baseUrl,
                        @Value("${bgg.api.timeout:30000}") final int timeout,
-                       @Value("${bgg.api.token:}") final String authToken) {
+                       @Value("${bgg.api.token:}") final String authToken,
+                       final BggRateLimiter rateLimiter,
+                       final MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
 
         HttpClient httpClient = HttpClient.create()
                 .secure(sslSpec -> {
@@ -54,20 +77,48 @@ public class BggApiClient {
                 .defaultHeader("Accept", "application/xml, text/xml, */*")
                 .defaultHeader("Authorization", authToken != null && !authToken.isEmpty() ? "Bearer " + authToken : "")
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_MEMORY_SIZE))
+                .filter(this::timeExchange)
                 .build();
     }
 
     public Mono<String> searchGames(final String query) {
-        return webClient.get()
-                .uri("/search?search={query}&type=boardgame", query)
-                .retrieve()
-                .bodyToMono(String.class)
-                .timeout(Duration.ofMillis(TIMEOUT_MS))
+        return rateLimiter.acquirePermit()
+                .then(Mono.defer(() -> webClient.get()
+                        .uri("/search?query={query}&type=boardgame", query)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .timeout(Duration.ofMillis(TIMEOUT_MS))))
                 .doOnError(error -> log.error("Error searching games: {}", error.getMessage()));
     }
 
-    public Mono<String> getCollection(final String username, final String subtype) {
-        log.info("Getting collection for username: {} with subtype: {}", username, subtype);
+    /**
+     * @param modifiedSince when set, BGG only returns items whose status, rating or comment changed on or
+     *                      after that date; removed items are never reported
+     */
+    public Mono<String> getCollection(final String username, final String subtype, final LocalDate modifiedSince) {
+        log.info("Getting collection for username: {} with subtype: {}, modified since: {}",
+                username, subtype, modifiedSince);
+        return rateLimiter.acquirePermit()
+                .then(Mono.defer(() -> retrieveCollection(username, subtype, modifiedSince)
+                        .bodyToMono(String.class)
+                        .timeout(Duration.ofMillis(TIMEOUT_MS))))
+                .retryWhen(configureRetryStrategy("collection"));
+    }
+
+    /**
+     * Streams the raw /collection body as it arrives, without aggregating it in memory,
+     * so {@link #MAX_MEMORY_SIZE} does not apply. The timeout bounds the gap between chunks.
+     * Callers must release every emitted buffer.
+     */
+    public Flux<DataBuffer> streamCollection(final String username, final String subtype,
+                                             final LocalDate modifiedSince) {
+        log.info("Streaming collection for username: {} with subtype: {}, modified since: {}",
+                username, subtype, modifiedSince);
+        return streamBody("collection", () -> retrieveCollection(username, subtype, modifiedSince));
+    }
+
+    private WebClient.ResponseSpec retrieveCollection(final String username, final String subtype,
+                                                      final LocalDate modifiedSince) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/collection")
@@ -75,6 +126,8 @@ public class BggApiClient {
                         .queryParam("own", 1)
                         .queryParam("stats", 1)
                         .queryParam("subtype", subtype)
+                        .queryParamIfPresent("modifiedsince", Optional.ofNullable(modifiedSince)
+                                .map(date -> date.format(DateTimeFormatter.ISO_LOCAL_DATE)))
                         .build())
                 .retrieve()
                 .onStatus((status -> status.value() == 202), response -> {
@@ -87,14 +140,28 @@ public class BggApiClient {
                         })
                 .onStatus(HttpStatusCode::is5xxServerError, response ->
                         Mono.error(new RuntimeException("BGG Server Error"))
-                )
-                .bodyToMono(String.class)
-                .timeout(Duration.ofMillis(TIMEOUT_MS))
-                .retryWhen(configureRetryStrategy());
+                );
     }
 
     public Mono<String> getThings(String ids) {
         log.info("Fetching detailed data from BGG for IDs: {}", ids);
+        return rateLimiter.acquirePermit()
+                .then(Mono.defer(() -> retrieveThings(ids)
+                        .bodyToMono(String.class)
+                        .timeout(Duration.ofMillis(TIMEOUT_MS))))
+                .retryWhen(Retry.backoff(MAX_RETRIES, Duration.ofSeconds(2))
+                        .doBeforeRetry(retrySignal -> countRetry("thing", retrySignal.failure())));
+    }
+
+    /**
+     * Streaming counterpart of {@link #getThings(String)}; same contract as {@link #streamCollection}.
+     */
+    public Flux<DataBuffer> streamThings(String ids) {
+        log.info("Streaming detailed data from BGG for IDs: {}", ids);
+        return streamBody("thing", () -> retrieveThings(ids));
+    }
+
+    private WebClient.ResponseSpec retrieveThings(String ids) {
         return this.webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/thing")
@@ -112,25 +179,81 @@ public class BggApiClient {
                 })
                 .onStatus(HttpStatusCode::is5xxServerError, response ->
                         Mono.error(new RuntimeException("BGG Server Error"))
-                )
-                .bodyToMono(String.class)
-                .timeout(Duration.ofMillis(TIMEOUT_MS))
-                .retryWhen(Retry.backoff(MAX_RETRIES, Duration.ofSeconds(2)));
+                );
+    }
+
+    /**
+     * Each attempt (including retries) takes a rate-limiter permit before the request is sent.
+     * Retries only happen before the first chunk; replaying a partially consumed body would corrupt the parse.
+     */
+    private Flux<DataBuffer> streamBody(final String endpoint, final Supplier<WebClient.ResponseSpec> request) {
+        return Flux.defer(() -> {
+            AtomicBoolean bodyStarted = new AtomicBoolean(false);
+            return rateLimiter.acquirePermit()
+                    .thenMany(Flux.defer(() -> request.get()
+                            .bodyToFlux(DataBuffer.class)
+                            .timeout(Duration.ofMillis(TIMEOUT_MS))))
+                    .doOnNext(buffer -> bodyStarted.set(true))
+                    .retryWhen(configureRetryStrategy(endpoint)
+                            .filter(throwable -> !bodyStarted.get() && isRetryable(throwable)));
+        });
     }
 
-    private Retry configureRetryStrategy() {
+    private static boolean isRetryable(final Throwable throwable) {
+        return throwable instanceof QueuedException ||
+                throwable instanceof RateLimitException ||
+                throwable instanceof TimeoutException ||
+                (throwable.getMessage() != null && throwable.getMessage().contains("connection"));
+    }
+
+    private RetryBackoffSpec configureRetryStrategy(final String endpoint) {
         return Retry.backoff(MAX_RETRIES, Duration.ofSeconds(2))
                 .jitter(0.8) // add some randomness to avoid 'thundering herd' problem (when many clients retry at the same time)
-                .filter(throwable ->
-            throwable instanceof QueuedException ||
-                    throwable instanceof RateLimitException ||
-                    throwable instanceof TimeoutException ||
-                    (throwable.getMessage() != null && throwable.getMessage().contains("connection"))
-        ).doBeforeRetry(retrySignal -> {
-                Throwable failure = retrySignal.failure();
-                log.info("Retry attempt #{} due to: {}",
-                        retrySignal.totalRetries() + 1,
-                        failure.getClass().getSimpleName());
-            });
+                .filter(BggApiClient::isRetryable)
+                .doBeforeRetry(retrySignal -> {
+                    Throwable failure = retrySignal.failure();
+                    log.info("Retry attempt #{} due to: {}",
+                            retrySignal.totalRetries() + 1,
+                            failure.getClass().getSimpleName());
+                    countRetry(endpoint, failure);
+                });
+    }
+
+    private void countRetry(final String endpoint, final Throwable failure) {
+        Counter.builder("bgg.client.retries")
+                .description("BGG request retries")
+                .tags("endpoint", endpoint, "cause", failure.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Times every HTTP exchange with BGG (one per attempt, retries included) up to the response status,
+     * as {@code bgg.client.requests} tagged by endpoint and status (200/202/429/5xx, or the error type).
+     * Body download time is not included; for streamed responses it overlaps parsing.
+     */
+    private Mono<ClientResponse> timeExchange(final ClientRequest request, final ExchangeFunction next) {
+        String endpoint = endpointOf(request.url());
+        long start = System.nanoTime();
+        return next.exchange(request)
+                .doOnSuccess(response -> recordExchange(endpoint, statusTag(response.statusCode()), start))
+                .doOnError(error -> recordExchange(endpoint, error.getClass().getSimpleName(), start));
+    }
+
+    private void recordExchange(final String endpoint, final String status, final long startNanos) {
+        Timer.builder("bgg.client.requests")
+                .description("BGG HTTP exchanges, up to the response status")
+                .tags("endpoint", endpoint, "status", status)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String statusTag(final HttpStatusCode status) {
+        return status.is5xxServerError() ? "5xx" : String.valueOf(status.value());
+    }
+
+    private static String endpointOf(final URI url) {
+        String path = url.getPath();
+        return path == null || path.isEmpty() ? "unknown" : path.substring(path.lastIndexOf('/') + 1);
     }
 }
@@ -1,25 +1,79 @@
 package com.bgpack.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Builds each cache from its {@code bgg.cache.caches.<name>} spec. Byte-weighed caches split
+ * {@code bgg.cache.memory-budget-mb} by their {@code budget-percent}, so the cache layer's heap use is bounded
+ * by one number. Caches are created up front, so actuator binds their Caffeine stats as {@code cache.*} meters
+ * at startup; a name without a spec falls back to a small entry-count cache.
+ */
+@Slf4j
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("games", "game", "collections");
+    public CacheManager cacheManager(final CacheProperties properties) {
+        validateBudget(properties);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .maximumSize(1000)
                 .expireAfterWrite(1, TimeUnit.HOURS)
                 .recordStats());
+        properties.caches().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, build(name, spec, properties)));
         return cacheManager;
     }
+
+    private static Cache<Object, Object> build(final String name, final CacheProperties.Spec spec,
+                                               final CacheProperties properties) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        long limit = switch (spec.weigher()) {
+            case BYTES -> {
+                long bytes = properties.memoryBudgetBytes() * spec.budgetPercent() / 100;
+                builder.maximumWeight(bytes).weigher(CacheWeights::bytes);
+                yield bytes;
+            }
+            case ENTRIES -> {
+                builder.maximumSize(spec.maximum());
+                yield spec.maximum();
+            }
+        };
+        if (spec.expireAfterWrite() != null) builder.expireAfterWrite(spec.expireAfterWrite());
+        if (spec.expireAfterAccess() != null) builder.expireAfterAccess(spec.expireAfterAccess());
+        log.info("Cache '{}': {} limit {}, expireAfterWrite {}, expireAfterAccess {}",
+                name, spec.weigher(), limit, spec.expireAfterWrite(), spec.expireAfterAccess());
+        return builder.build();
+    }
+
+    private static void validateBudget(final CacheProperties properties) {
+        int percent = 0;
+        for (Map.Entry<String, CacheProperties.Spec> entry : properties.caches().entrySet()) {
+            CacheProperties.Spec spec = entry.getValue();
+            if (spec.weigher() == CacheProperties.Weigher.BYTES) {
+                if (spec.budgetPercent() == null || spec.budgetPercent() <= 0) {
+                    throw new IllegalArgumentException("Cache '" + entry.getKey() + "' needs budget-percent > 0");
+                }
+                percent += spec.budgetPercent();
+            } else if (spec.maximum() == null || spec.maximum() <= 0) {
+                throw new IllegalArgumentException("Cache '" + entry.getKey() + "' needs maximum > 0");
+            }
+        }
+        if (percent > 100) {
+            throw new IllegalArgumentException("Cache budget-percent values add up to " + percent + "%, over 100%");
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.bgpack.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache Caffeine settings ({@code bgg.cache.caches.<name>.*}) and the heap budget shared by every
+ * cache weighed in bytes.
+ */
+@ConfigurationProperties(prefix = "bgg.cache")
+public record CacheProperties(Long memoryBudgetMb, Map<String, Spec> caches) {
+
+    public CacheProperties {
+        memoryBudgetMb = memoryBudgetMb == null ? 64 : memoryBudgetMb;
+        caches = caches == null ? new LinkedHashMap<>() : caches;
+    }
+
+    public long memoryBudgetBytes() {
+        return memoryBudgetMb * 1024 * 1024;
+    }
+
+    /**
+     * @param weigher how an entry is measured: {@code BYTES} (estimated heap size, bounded by
+     *                {@code budgetPercent} of the shared budget) or {@code ENTRIES} (bounded by {@code maximum})
+     */
+    public record Spec(Weigher weigher,
+                       Integer budgetPercent,
+                       Long maximum,
+                       Duration expireAfterWrite,
+                       Duration expireAfterAccess) {
+
+        public Spec {
+            weigher = weigher == null ? Weigher.BYTES : weigher;
+        }
+    }
+
+    public enum Weigher {
+        BYTES, ENTRIES
+    }
+}
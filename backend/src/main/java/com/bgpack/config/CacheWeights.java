@@ -0,0 +1,58 @@
+package com.bgpack.config;
+
+import com.bgpack.entity.Game;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Rough retained-size estimates for cache values, good enough to keep a byte budget honest:
+ * dominated by string lengths, with flat per-object overheads.
+ */
+final class CacheWeights {
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE = 8;
+    private static final int GAME_FIXED = 320;
+    private static final int MAP_ENTRY = 64;
+
+    private CacheWeights() {
+    }
+
+    static int bytes(final Object key, final Object value) {
+        long size = estimate(key) + estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private static long estimate(final Object value) {
+        if (value == null) return 0;
+        if (value instanceof String string) return 40L + 2L * string.length();
+        if (value instanceof Game game) return game(game);
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_OVERHEAD + 24;
+            for (Object element : collection) {
+                size += REFERENCE + estimate(element);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = OBJECT_OVERHEAD + 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += MAP_ENTRY + estimate(entry.getKey()) + estimate(entry.getValue());
+            }
+            return size;
+        }
+        return 64;
+    }
+
+    private static long game(final Game game) {
+        return GAME_FIXED
+                + estimate(game.getBggId())
+                + estimate(game.getName())
+                + estimate(game.getDescription())
+                + estimate(game.getImageUrl())
+                + estimate(game.getThumbnailUrl())
+                + estimate(game.getSuggestedNumPlayers())
+                + estimate(game.getRecommendedPlayers());
+    }
+}
@@ -3,10 +3,13 @@ package com.bgpack.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -30,7 +33,28 @@ public class SecurityConfig {
     @Value("${spring.web.cors.allow-credentials}")
     private boolean allowCredentials;
 
+    /**
+     * Actuator endpoints: health is open for probes; everything else (metrics) needs HTTP Basic credentials
+     * from {@code spring.security.user}. Kept in its own chain so the API never answers with a Basic challenge.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(final HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/actuator/**")
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .anyRequest().authenticated()
+            )
+            .httpBasic(Customizer.withDefaults());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(final HttpSecurity http) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -38,6 +62,7 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/api/games/**").permitAll()
                 .requestMatchers("/api/presets/**").permitAll()
+                .requestMatchers("/api/sync-jobs/**").permitAll()
                 .requestMatchers("/api/teams/**").permitAll()
                 .anyRequest().authenticated()
             );
@@ -64,6 +89,9 @@ public class SecurityConfig {
             configuration.setAllowedHeaders(Arrays.asList(allowedHeaders.split(",")));
         }
 
+        // Let the frontend read collection freshness and sync-job locations
+        configuration.setExposedHeaders(List.of("X-Collection-Stale", "X-Collection-Synced-At", "Warning", "Location"));
+
         configuration.setAllowCredentials(allowCredentials);
         configuration.setMaxAge(3600L);
 
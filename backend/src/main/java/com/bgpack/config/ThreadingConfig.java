@@ -0,0 +1,35 @@
+package com.bgpack.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in virtual-thread mode. {@code spring.threads.virtual.enabled} already moves Tomcat request handling,
+ * {@code @Scheduled} jobs (the sync-job worker) and the application task executor onto virtual threads;
+ * this adds the scheduler our own blocking work is offloaded to: JPA writes fed from Reactor pipelines, and the
+ * BGG-calling request paths, which controllers complete asynchronously so Tomcat threads are released.
+ * Inside those paths the service code still blocks on the reactive BGG client, so a rate-limiter wait holds
+ * a bounded-elastic thread by default; in virtual-thread mode it only holds a virtual thread.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingWorkScheduler(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            log.info("Virtual-thread mode enabled for request handling and background sync");
+            return Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bgg-blocking-", 0).factory()),
+                    "bgg-blocking-vt");
+        }
+        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "bgg-blocking");
+    }
+}
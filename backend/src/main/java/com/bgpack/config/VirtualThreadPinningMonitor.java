@@ -0,0 +1,82 @@
+package com.bgpack.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Pinning diagnostics for virtual-thread mode: streams JFR {@code jdk.VirtualThreadPinned} events
+ * (a virtual thread blocked while holding a monitor or inside native code, so its carrier could not be
+ * released) and logs the ones above the threshold with the top application frames.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${bgg.threads.pinning-threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @PostConstruct
+    void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::report);
+            stream.startAsync();
+            log.info("Virtual thread pinning diagnostics enabled (threshold {} ms)", threshold.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Virtual thread pinning diagnostics unavailable: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) stream.close();
+    }
+
+    public long getPinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    private void report(final RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        log.warn("Virtual thread pinned for {} ms at:\n{}", event.getDuration().toMillis(), frames(event));
+    }
+
+    private static String frames(final RecordedEvent event) {
+        if (event.getStackTrace() == null) return "  <no stack trace>";
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> !isJdkFrame(frame))
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static boolean isJdkFrame(final RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+}
@@ -1,11 +1,26 @@
 
 package com.bgpack.controller;
 
+import com.bgpack.dto.CollectionVersion;
 import com.bgpack.dto.GameSearchRequest;
+import com.bgpack.dto.GameSummary;
+import com.bgpack.dto.GroupGameDto;
 import com.bgpack.entity.Game;
 import com.bgpack.service.BggApiOptimizationService;
 import com.bgpack.service.BggService;
+import com.bgpack.service.CollectionIndexService;
+import com.bgpack.service.CollectionStreamService;
+import com.bgpack.service.CollectionView;
+import com.bgpack.service.GameCacheService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,11 +29,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.access.prepost.PreAuthorize;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api")
@@ -26,8 +47,18 @@ import java.util.List;
 @Validated
 public class BggController {
 
+    /** Set when the collection is served from a stale copy while it is refreshed. */
+    public static final String STALE_HEADER = "X-Collection-Stale";
+    /** When the served collection was last synced from BGG. */
+    public static final String SYNCED_AT_HEADER = "X-Collection-Synced-At";
+
     private final BggService bggService;
     private final BggApiOptimizationService optimizationService;
+    private final CollectionIndexService collectionIndexService;
+    private final CollectionStreamService collectionStreamService;
+    private final GameCacheService gameCacheService;
+    private final ObjectMapper objectMapper;
+    private final Scheduler blockingWorkScheduler;
 
     @GetMapping("/test")
     @PreAuthorize("permitAll()")
@@ -35,18 +66,124 @@ public class BggController {
         return ResponseEntity.ok("Hello from Backend - BGPack API is running!");
     }
 
+    /**
+     * Runs on {@code blockingWorkScheduler} and completes asynchronously, so the request thread is released
+     * while a BGG search waits for a rate-limiter permit or for BGG.
+     */
     @GetMapping("/games")
-    public ResponseEntity<List<Game>> getGames(@Valid final GameSearchRequest searchRequest) {
-        List<Game> games = bggService.getGames(searchRequest);
-        return ResponseEntity.ok(games);
+    public Mono<ResponseEntity<List<GameSummary>>> getGames(@Valid final GameSearchRequest searchRequest) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(bggService.getGames(searchRequest)))
+                .subscribeOn(blockingWorkScheduler);
+    }
+
+    /**
+     * Full details of one stored game (description, player-count polls, tags); lists only carry
+     * {@link GameSummary}.
+     */
+    @GetMapping("/games/{bggId:\\d+}")
+    public ResponseEntity<Game> getGame(@PathVariable final String bggId) {
+        return gameCacheService.getCachedGame(bggId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Answers {@code If-None-Match} / {@code If-Modified-Since} with 304 from the stored collection version,
+     * without loading any games. Responses carry a weak ETag, and a stale copy is marked with
+     * {@link #STALE_HEADER} and {@code Warning: 110}. Loading (and a sync, when one is needed) runs on
+     * {@code blockingWorkScheduler}, so the request thread is not held while BGG is called.
+     */
     @GetMapping("/games/user/{username}")
-    public ResponseEntity<List<Game>> getOwnedGamesWithStats(
+    public Mono<ResponseEntity<List<GameSummary>>> getOwnedGamesWithStats(
+            @PathVariable @NotBlank final String username,
+            @RequestParam(defaultValue = "false") final boolean excludeExpansions,
+            final WebRequest request) {
+        Optional<CollectionVersion> servable = bggService.getServableVersion(username, excludeExpansions);
+        if (servable.isPresent() && isNotModified(request, servable.get())) {
+            return Mono.just(collectionHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), servable.get()).build());
+        }
+
+        return Mono.fromCallable(() -> {
+            CollectionView collection = bggService.getCollection(username, excludeExpansions);
+            return collectionHeaders(ResponseEntity.ok(), collection.version()).body(collection.games());
+        }).subscribeOn(blockingWorkScheduler);
+    }
+
+    /**
+     * Opt-in streaming variant ({@code ?stream=true}): the stored collection as newline-delimited JSON, read
+     * through a database cursor and written game by game, so memory per request stays constant. Serves the
+     * stored rows, so unlike the list variant it is not narrowed by a subtype-filtered sync. A servable copy
+     * is answered (or 304'd) from the request thread; only a needed sync runs on {@code blockingWorkScheduler}.
+     */
+    @GetMapping(value = "/games/user/{username}", params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<StreamingResponseBody>> streamOwnedGames(
             @PathVariable @NotBlank final String username,
-            @RequestParam(defaultValue = "false") final boolean excludeExpansions) {
-        List<Game> games = bggService.getCollection(username, excludeExpansions);
-        return ResponseEntity.ok(games);
+            @RequestParam(defaultValue = "false") final boolean excludeExpansions,
+            final WebRequest request) {
+        Optional<CollectionVersion> servable = bggService.getServableVersion(username, excludeExpansions);
+        if (servable.isPresent()) {
+            if (isNotModified(request, servable.get())) {
+                return Mono.just(collectionHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), servable.get()).build());
+            }
+            return Mono.just(streamStoredCollection(username, servable.get()));
+        }
+
+        return Mono.fromCallable(() -> streamStoredCollection(username,
+                        bggService.prepareStoredCollection(username, excludeExpansions).orElse(null)))
+                .subscribeOn(blockingWorkScheduler);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamStoredCollection(final String username,
+                                                                        final CollectionVersion version) {
+        // the servlet buffer decides when bytes go out; a game per flush would mean a chunk per game
+        ObjectWriter writer = objectMapper.writerFor(GameSummary.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> collectionStreamService.forEachGame(username, game -> {
+            writer.writeValue(out, game);
+            out.write('\n');
+        });
+        return collectionHeaders(ResponseEntity.ok(), version)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static boolean isNotModified(final WebRequest request, final CollectionVersion version) {
+        return version.lastModified() != null
+                && request.checkNotModified(version.etag(), version.lastModified().toInstant().toEpochMilli());
+    }
+
+    private static ResponseEntity.BodyBuilder collectionHeaders(final ResponseEntity.BodyBuilder response,
+                                                                final CollectionVersion version) {
+        // no-cache still lets the browser keep the body and revalidate it with If-None-Match
+        response.cacheControl(CacheControl.noCache().cachePrivate());
+        if (version == null) {
+            return response;
+        }
+        if (version.lastModified() != null) {
+            response.eTag(version.etag()).lastModified(version.lastModified());
+        }
+        if (version.lastSync() != null) {
+            response.header(SYNCED_AT_HEADER, version.lastSync().toOffsetDateTime().toString());
+        }
+        if (version.stale()) {
+            response.header(STALE_HEADER, "true")
+                    .header(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+        }
+        return response;
+    }
+
+    /**
+     * Games owned by ALL, ANY or AT_LEAST {@code minOwners} of the given (already synced) users,
+     * filtered and sorted like /games and ranked by owner count.
+     */
+    @GetMapping("/games/group")
+    public ResponseEntity<List<GroupGameDto>> getGroupGames(
+            @RequestParam @NotEmpty final List<String> usernames,
+            @RequestParam(defaultValue = "ALL") final CollectionIndexService.OwnershipMode mode,
+            @RequestParam(required = false) final Integer minOwners,
+            @Valid final GameSearchRequest searchRequest) {
+        return ResponseEntity.ok(collectionIndexService.findGroupGames(usernames, mode, minOwners, searchRequest));
     }
 
     @PostMapping("/bgg/reset-cache/{endpoint}")
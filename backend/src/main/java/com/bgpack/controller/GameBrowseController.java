@@ -0,0 +1,53 @@
+package com.bgpack.controller;
+
+import com.bgpack.dto.GamePage;
+import com.bgpack.service.GameBrowseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Cursor-paginated listings of stored games. Each response carries {@code nextCursor}; pass it back as
+ * {@code after} for the next page.
+ */
+@RestController
+@RequestMapping("/api/games/browse")
+@RequiredArgsConstructor
+@Validated
+public class GameBrowseController {
+
+    private static final String DEFAULT_SIZE = "" + GameBrowseService.DEFAULT_PAGE_SIZE;
+
+    private final GameBrowseService gameBrowseService;
+
+    @GetMapping("/top-ranked")
+    public ResponseEntity<GamePage> topRanked(@RequestParam(required = false) final String after,
+                                              @RequestParam(defaultValue = DEFAULT_SIZE) final int size) {
+        return ResponseEntity.ok(gameBrowseService.topRanked(after, size));
+    }
+
+    @GetMapping("/top-rated")
+    public ResponseEntity<GamePage> topRated(@RequestParam(required = false) final String after,
+                                             @RequestParam(defaultValue = DEFAULT_SIZE) final int size) {
+        return ResponseEntity.ok(gameBrowseService.topRated(after, size));
+    }
+
+    @GetMapping("/by-name")
+    public ResponseEntity<GamePage> byName(@RequestParam final String name,
+                                           @RequestParam(required = false) final String after,
+                                           @RequestParam(defaultValue = DEFAULT_SIZE) final int size) {
+        return ResponseEntity.ok(gameBrowseService.byName(name, after, size));
+    }
+
+    @GetMapping("/by-players")
+    public ResponseEntity<GamePage> byPlayers(@RequestParam(required = false) final Integer minPlayers,
+                                              @RequestParam(required = false) final Integer maxPlayers,
+                                              @RequestParam(required = false) final String after,
+                                              @RequestParam(defaultValue = DEFAULT_SIZE) final int size) {
+        return ResponseEntity.ok(gameBrowseService.byPlayers(minPlayers, maxPlayers, after, size));
+    }
+}
@@ -0,0 +1,27 @@
+package com.bgpack.controller;
+
+import com.bgpack.dto.SyncJobDto;
+import com.bgpack.service.SyncJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync-jobs")
+@RequiredArgsConstructor
+@Validated
+public class SyncJobController {
+
+    private final SyncJobService syncJobService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SyncJobDto> getSyncJob(@PathVariable final Long id) {
+        return syncJobService.getJob(id)
+                .map(job -> ResponseEntity.ok(SyncJobDto.from(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,43 @@
+package com.bgpack.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Version of a user's stored collection, read without loading any games. {@code contentHash} covers the user's
+ * own collection rows and {@code changedAt} is when it last changed; {@code gamesUpdatedAt} is the newest
+ * {@code last_updated} of those games, which other users' syncs and enrichment can move. Together they back
+ * a weak ETag and Last-Modified; {@code stale} marks a copy served while it is refreshed.
+ */
+public record CollectionVersion(ZonedDateTime lastSync, String contentHash, ZonedDateTime changedAt,
+                                ZonedDateTime gamesUpdatedAt, boolean stale) {
+
+    public CollectionVersion(final ZonedDateTime lastSync, final String contentHash, final ZonedDateTime changedAt,
+                             final ZonedDateTime gamesUpdatedAt) {
+        this(lastSync, contentHash, changedAt, gamesUpdatedAt, false);
+    }
+
+    public boolean isSyncOlderThan(final Duration age) {
+        return lastSync == null || lastSync.isBefore(ZonedDateTime.now().minus(age));
+    }
+
+    public CollectionVersion markStale() {
+        return new CollectionVersion(lastSync, contentHash, changedAt, gamesUpdatedAt, true);
+    }
+
+    /** Weak: bookkeeping fields such as timestamps may differ between equal versions. */
+    public String etag() {
+        if (contentHash == null) return null;
+        long gamesVersion = gamesUpdatedAt == null
+                ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, gamesUpdatedAt.toInstant());
+        return "W/\"" + contentHash + "-" + gamesVersion + "\"";
+    }
+
+    /** The later of {@code changedAt} and {@code gamesUpdatedAt}; null when the collection has no hash yet. */
+    public ZonedDateTime lastModified() {
+        if (contentHash == null || changedAt == null) return null;
+        return gamesUpdatedAt != null && gamesUpdatedAt.isAfter(changedAt) ? gamesUpdatedAt : changedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.bgpack.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated game list. Pass {@code nextCursor} as {@code after} to get the following
+ * page; it is {@code null} on the last page.
+ */
+public record GamePage(List<GameSummary> items, String nextCursor) {
+}
@@ -63,9 +63,10 @@ public class GameSearchRequest {
     @Max(value = MAX_YEAR, message = "Year cannot exceed 2030")
     private Integer yearTo;
 
+    /** {@code relevance} keeps the search's own order (BGG's, or best match first for local search). */
     @Builder.Default
-    @Pattern(regexp = "^(name|yearPublished|bggRating|playingTime|complexity)$",
-            message = "Sort field must be one of: name, yearPublished, bggRating, playingTime, complexity")
+    @Pattern(regexp = "^(relevance|name|yearPublished|bggRating|playingTime|complexity)$",
+            message = "Sort field must be one of: relevance, name, yearPublished, bggRating, playingTime, complexity")
     private String sortBy = "bggRating";
 
     @Builder.Default
@@ -74,4 +75,20 @@ public class GameSearchRequest {
 
     @Builder.Default
     private Boolean exactPlayerFilter = false;
+
+    /** Only games the BGG community voted best at this player count (the /thing player-count poll). */
+    @Min(value = MIN_PLAYERS, message = "Best-with player count must be at least 1")
+    @Max(value = MAX_PLAYERS, message = "Best-with player count cannot exceed 20")
+    private Integer bestWithPlayers;
+
+    /**
+     * Where a name search looks: our own games table first with BGG as a fallback (AUTO), only BGG's /search,
+     * or only our own games table.
+     */
+    @Builder.Default
+    private SearchSource source = SearchSource.AUTO;
+
+    public enum SearchSource {
+        AUTO, BGG, LOCAL
+    }
 }
\ No newline at end of file
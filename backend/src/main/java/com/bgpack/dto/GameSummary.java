@@ -0,0 +1,53 @@
+package com.bgpack.dto;
+
+import com.bgpack.entity.Game;
+import com.bgpack.entity.GameAttributes;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * List view of a game: the columns a list card needs plus the first {@link #EXCERPT_LENGTH} characters of
+ * the description. Repositories select it directly, so list queries never read the JSONB polls or the
+ * bookkeeping columns; the full game is served by {@code /api/games/{bggId}}.
+ */
+@Value
+public class GameSummary implements GameAttributes {
+
+    public static final int EXCERPT_LENGTH = 300;
+
+    /** JPQL select list matching the constructor, for a {@code Game} aliased {@code g}. */
+    public static final String SELECT = "new com.bgpack.dto.GameSummary(g.id, g.bggId, g.name, "
+            + "substring(g.description, 1, " + EXCERPT_LENGTH + "), g.yearPublished, g.minPlayers, g.maxPlayers, "
+            + "g.playingTime, g.minAge, g.imageUrl, g.thumbnailUrl, g.rank, g.bggRating, g.averageRating, "
+            + "g.complexity, g.bestPlayersMask)";
+
+    Long id;
+    String bggId;
+    String name;
+    String descriptionExcerpt;
+    Integer yearPublished;
+    Integer minPlayers;
+    Integer maxPlayers;
+    Integer playingTime;
+    Integer minAge;
+    String imageUrl;
+    String thumbnailUrl;
+    Integer rank;
+    BigDecimal bggRating;
+    BigDecimal averageRating;
+    BigDecimal complexity;
+    @JsonIgnore
+    Integer bestPlayersMask;
+
+    public static GameSummary from(final Game game) {
+        String description = game.getDescription();
+        return new GameSummary(game.getId(), game.getBggId(), game.getName(),
+                description == null || description.length() <= EXCERPT_LENGTH
+                        ? description : description.substring(0, EXCERPT_LENGTH),
+                game.getYearPublished(), game.getMinPlayers(), game.getMaxPlayers(), game.getPlayingTime(),
+                game.getMinAge(), game.getImageUrl(), game.getThumbnailUrl(), game.getRank(),
+                game.getBggRating(), game.getAverageRating(), game.getComplexity(), game.getBestPlayersMask());
+    }
+}
@@ -0,0 +1,19 @@
+package com.bgpack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupGameDto {
+    private GameSummary game;
+    /** How many of the requested users own the game. */
+    private int ownerCount;
+    private List<String> owners;
+}
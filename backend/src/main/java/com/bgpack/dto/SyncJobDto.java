@@ -0,0 +1,35 @@
+package com.bgpack.dto;
+
+import com.bgpack.entity.SyncJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncJobDto {
+    private Long jobId;
+    private String username;
+    private SyncJob.Status status;
+    private int attempts;
+    private ZonedDateTime nextAttemptAt;
+    private String lastError;
+    private ZonedDateTime updatedAt;
+
+    public static SyncJobDto from(SyncJob job) {
+        return SyncJobDto.builder()
+                .jobId(job.getId())
+                .username(job.getUsername())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .nextAttemptAt(job.getNextAttemptAt())
+                .lastError(job.getLastError())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
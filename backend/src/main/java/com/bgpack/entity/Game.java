@@ -1,5 +1,6 @@
 package com.bgpack.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -21,7 +22,9 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "collections"})
-public class Game {
+public class Game implements GameAttributes {
+
+    public static final int MAX_MASK_PLAYERS = 30;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -77,10 +80,16 @@ public class Game {
     @Column(name = "recommended_players", columnDefinition = "jsonb")
     private Map<String, Object> recommendedPlayers;
 
+    // Player counts voted "best" in the poll above, as bits (see bestPlayersBit); filters read this, not the JSON
+    @JsonIgnore
+    @Column(name = "best_players_mask")
+    private Integer bestPlayersMask;
+
     @Column(name = "cached_at")
     private ZonedDateTime cachedAt;
 
-    @Column(name = "cache_hits")
+    // Only GameHitCounter writes this column, so entity updates must not overwrite flushed counts
+    @Column(name = "cache_hits", updatable = false)
     @Builder.Default
     private Integer cacheHits = 0;
 
@@ -98,8 +107,11 @@ public class Game {
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<UserCollection> collections;
 
-    public void incrementCacheHits() {
-        this.cacheHits = (this.cacheHits == null ? 0 : this.cacheHits) + 1;
+    /**
+     * The {@code bestPlayersMask} bit for a player count; 0 for counts outside 1..{@value #MAX_MASK_PLAYERS}.
+     */
+    public static int bestPlayersBit(final int players) {
+        return players >= 1 && players <= MAX_MASK_PLAYERS ? 1 << players : 0;
     }
 
     public void updateCacheTimestamp() {
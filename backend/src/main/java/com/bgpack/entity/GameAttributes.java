@@ -0,0 +1,34 @@
+package com.bgpack.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * The game attributes list filters and sorting work on, shared by the {@link Game} entity and its
+ * list projection.
+ */
+public interface GameAttributes {
+
+    String getName();
+
+    Integer getYearPublished();
+
+    Integer getMinPlayers();
+
+    Integer getMaxPlayers();
+
+    Integer getPlayingTime();
+
+    Integer getMinAge();
+
+    BigDecimal getBggRating();
+
+    BigDecimal getComplexity();
+
+    /** Player counts the community voted best, as {@link Game#bestPlayersBit} bits; null without poll data. */
+    Integer getBestPlayersMask();
+
+    default boolean isBestWith(final int players) {
+        int bit = Game.bestPlayersBit(players);
+        return bit != 0 && getBestPlayersMask() != null && (getBestPlayersMask() & bit) != 0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bgpack.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "sync_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "username", length = 50, nullable = false)
+    private String username;
+
+    @Column(name = "subtype", length = 20)
+    private String subtype;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private ZonedDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private ZonedDateTime lockedUntil;
+
+    // Set per claim; complete/retry only apply while the job is still held under the same claim
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private ZonedDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED
+    }
+
+    public boolean isOpen() {
+        return status == Status.PENDING || status == Status.RUNNING;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = ZonedDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = ZonedDateTime.now();
+    }
+}
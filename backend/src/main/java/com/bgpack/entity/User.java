@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.ZonedDateTime;
+import java.util.Objects;
 import java.util.Set;
 
 @Entity
@@ -35,6 +36,15 @@ public class User {
     @Column(name = "last_sync")
     private ZonedDateTime lastSync;
 
+    @Column(name = "last_full_sync")
+    private ZonedDateTime lastFullSync;
+
+    @Column(name = "collection_hash", length = 32)
+    private String collectionHash;
+
+    @Column(name = "collection_changed_at")
+    private ZonedDateTime collectionChangedAt;
+
     public User(String username) {
         this.username = username;
     }
@@ -44,10 +54,25 @@ public class User {
         return lastSync.isBefore(ZonedDateTime.now().minusDays(7));
     }
 
+    /**
+     * Stores the collection's content hash; the change timestamp only moves when the hash does.
+     */
+    public void updateCollectionHash(String hash) {
+        if (!Objects.equals(hash, collectionHash)) {
+            this.collectionHash = hash;
+            this.collectionChangedAt = ZonedDateTime.now();
+        }
+    }
+
     public void updateSyncTimestamp() {
         this.lastSync = ZonedDateTime.now();
     }
 
+    public void updateFullSyncTimestamp() {
+        this.lastSync = ZonedDateTime.now();
+        this.lastFullSync = this.lastSync;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = ZonedDateTime.now();
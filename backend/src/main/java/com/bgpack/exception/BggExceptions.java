@@ -1,5 +1,7 @@
 package com.bgpack.exception;
 
+import com.bgpack.entity.SyncJob;
+
 public class BggExceptions {
 
     public static class QueuedException extends RuntimeException {
@@ -13,4 +15,20 @@ public class BggExceptions {
             super("BGG API returned 429 - Rate limit exceeded.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The collection is not available yet: BGG queued it and a background sync job will fetch it.
+     */
+    public static class CollectionPendingException extends RuntimeException {
+        private final SyncJob job;
+
+        public CollectionPendingException(SyncJob job) {
+            super("Collection for '" + job.getUsername() + "' is being prepared by BGG (sync job " + job.getId() + ").");
+            this.job = job;
+        }
+
+        public SyncJob getJob() {
+            return job;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.bgpack.exception;
 
 import com.bgpack.dto.ErrorResponse;
+import com.bgpack.dto.SyncJobDto;
+import com.bgpack.exception.BggExceptions.CollectionPendingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -60,6 +63,14 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(CollectionPendingException.class)
+    public ResponseEntity<SyncJobDto> handleCollectionPendingException(final CollectionPendingException ex) {
+        log.info("Collection pending: {}", ex.getMessage());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/sync-jobs/" + ex.getJob().getId()))
+                .body(SyncJobDto.from(ex.getJob()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             final Exception ex, final WebRequest request) {
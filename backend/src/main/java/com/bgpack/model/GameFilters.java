@@ -19,5 +19,6 @@ public class GameFilters {
     private Integer minAge;
     private Double minRating;
     private Boolean exactPlayerFilter;
+    private Integer bestWithPlayers;
 }
 
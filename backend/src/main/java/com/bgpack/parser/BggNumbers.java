@@ -0,0 +1,74 @@
+package com.bgpack.parser;
+
+import java.math.BigDecimal;
+
+/**
+ * Exception-free parsing of BGG numeric values.
+ * BGG uses placeholders like "N/A" or "Not Ranked", so malformed input is the normal case
+ * and must not cost a thrown exception per field.
+ */
+public final class BggNumbers {
+
+    private BggNumbers() {
+    }
+
+    /**
+     * Returns a positive integer, or null for blank, placeholder, malformed, overflowing or non-positive values.
+     */
+    public static Integer parsePositiveInt(final String val) {
+        if (val == null) return null;
+        int start = 0;
+        int end = val.length();
+        while (start < end && Character.isWhitespace(val.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(val.charAt(end - 1))) end--;
+        if (start == end) return null;
+
+        boolean negative = false;
+        char first = val.charAt(start);
+        if (first == '+' || first == '-') {
+            negative = first == '-';
+            start++;
+            if (start == end) return null;
+        }
+
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = val.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return null;
+            result = result * 10 + digit;
+            if (result > Integer.MAX_VALUE) return null;
+        }
+        if (negative || result == 0) return null;
+        return (int) result;
+    }
+
+    /**
+     * Returns a non-negative decimal, or null for blank, placeholder, malformed or negative values.
+     */
+    public static BigDecimal parseNonNegativeDecimal(final String val) {
+        if (val == null) return null;
+        String trimmed = val.trim();
+        if (!isPlainDecimal(trimmed)) return null;
+        BigDecimal bd = new BigDecimal(trimmed);
+        return bd.signum() < 0 ? null : bd;
+    }
+
+    private static boolean isPlainDecimal(final String val) {
+        int len = val.length();
+        int i = 0;
+        if (i < len && (val.charAt(i) == '+' || val.charAt(i) == '-')) i++;
+        int digits = 0;
+        boolean dot = false;
+        for (; i < len; i++) {
+            char c = val.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return false;
+            }
+        }
+        return digits > 0;
+    }
+}
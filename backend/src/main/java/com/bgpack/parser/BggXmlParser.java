@@ -0,0 +1,31 @@
+package com.bgpack.parser;
+
+import com.bgpack.entity.Game;
+
+import java.util.List;
+
+/**
+ * Parsing engine for BGG XML API v2 responses.
+ */
+public interface BggXmlParser {
+
+    /**
+     * Name used to select this engine via {@code bgg.parser.engine}.
+     */
+    String engineName();
+
+    /**
+     * Parses the XML from the user collection endpoint (/xmlapi2/collection)
+     */
+    List<Game> parseCollection(String xmlResponse);
+
+    /**
+     * Parsing XML endpoint /thing?id=...&stats=1
+     */
+    List<Game> parseThings(String xmlResponse);
+
+    /**
+     * Parses /search?query=... results: id, name (primary preferred, else the matched alternate) and year only.
+     */
+    List<Game> parseSearch(String xmlResponse);
+}
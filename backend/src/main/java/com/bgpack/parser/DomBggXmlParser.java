@@ -0,0 +1,303 @@
+package com.bgpack.parser;
+
+import com.bgpack.entity.Game;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Original W3C DOM engine. Kept selectable for comparison with {@link StaxBggXmlParser}.
+ */
+@Component
+@Slf4j
+public class DomBggXmlParser implements BggXmlParser {
+
+    public static final String ENGINE_NAME = "dom";
+
+    @Override
+    public String engineName() {
+        return ENGINE_NAME;
+    }
+
+    @Override
+    public List<Game> parseCollection(final String xmlResponse) {
+        if (xmlResponse == null || xmlResponse.isBlank()) return new ArrayList<>();
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document doc = builder.parse(new ByteArrayInputStream(xmlResponse.getBytes("UTF-8")));
+
+            NodeList items = doc.getElementsByTagName("item");
+            List<Game> games = new ArrayList<>();
+            for (int i = 0; i < items.getLength(); i++) {
+                Node item = items.item(i);
+                if (item.getNodeType() == Node.ELEMENT_NODE) {
+                    Element element = (Element) item;
+                    Game game = parseGameFromCollectionElement(element);
+                    if (game != null) {
+                        games.add(game);
+                    }
+                }
+            }
+            return games;
+        } catch (Exception e) {
+            log.error("Error parsing BGG collection XML", e);
+            return new ArrayList<>();
+        }
+    }
+
+    private Game parseGameFromCollectionElement(Element element) {
+        String bggId = element.getAttribute("objectid");
+        String name = getElementValue(element, "name");
+        String yearPublished = getElementValue(element, "yearpublished");
+        String imageUrl = getElementValue(element, "image");
+        String thumbnailUrl = getElementValue(element, "thumbnail");
+
+        Element statsElement = getChildElement(element, "stats");
+
+        Integer minPlayers = null;
+        Integer maxPlayers = null;
+        Integer playingTime = null;
+        Integer minAge = null;
+        BigDecimal geekRating = null;
+        BigDecimal complexity = null;
+        BigDecimal averageRating = null;
+        Integer rank = null;
+
+        if (statsElement != null) {
+            minPlayers = parseInteger(statsElement.getAttribute("minplayers"));
+            maxPlayers = parseInteger(statsElement.getAttribute("maxplayers"));
+            playingTime = parseInteger(statsElement.getAttribute("playingtime"));
+            minAge = parseInteger(statsElement.getAttribute("minage"));
+
+            Element ratingElement = getChildElement(statsElement, "rating");
+            if (ratingElement != null) {
+                geekRating = getAttributeBigDecimalValue(ratingElement, "bayesaverage");
+                averageRating = getAttributeBigDecimalValue(ratingElement, "average");
+                complexity = getAttributeBigDecimalValue(ratingElement, "averageweight");
+
+                Element ranksElement = getChildElement(ratingElement, "ranks");
+                if (ranksElement != null) {
+                    NodeList rankList = ranksElement.getElementsByTagName("rank");
+                    for (int i = 0; i < rankList.getLength(); i++) {
+                        Element rankEl = (Element) rankList.item(i);
+                        if ("boardgame".equals(rankEl.getAttribute("name"))) {
+                            rank = parseInteger(rankEl.getAttribute("value"));
+                        }
+                    }
+                }
+            }
+        }
+
+        return Game.builder()
+                .bggId(bggId)
+                .name(name)
+                .yearPublished(parseInteger(yearPublished))
+                .minPlayers(minPlayers)
+                .maxPlayers(maxPlayers)
+                .playingTime(playingTime)
+                .minAge(minAge)
+                .imageUrl(imageUrl)
+                .thumbnailUrl(thumbnailUrl)
+                .bggRating(geekRating)
+                .averageRating(averageRating)
+                .complexity(complexity)
+                .rank(rank)
+                .build();
+    }
+
+    @Override
+    public List<Game> parseThings(final String xmlResponse) {
+        if (xmlResponse == null || xmlResponse.isBlank()) return new ArrayList<>();
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document doc = builder.parse(new ByteArrayInputStream(xmlResponse.getBytes("UTF-8")));
+
+            NodeList items = doc.getElementsByTagName("item");
+            List<Game> games = new ArrayList<>();
+            for (int i = 0; i < items.getLength(); i++) {
+                Element element = (Element) items.item(i);
+                games.add(parseGameFromThingElement(element));
+            }
+            return games;
+        } catch (Exception e) {
+            log.error("Error parsing BGG thing XML", e);
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<Game> parseSearch(final String xmlResponse) {
+        List<Game> games = parseThings(xmlResponse);
+        if (games.isEmpty()) return games;
+        try {
+            // search hits matched on an alternate title have no primary name
+            Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                    .parse(new ByteArrayInputStream(xmlResponse.getBytes("UTF-8")));
+            NodeList items = doc.getElementsByTagName("item");
+            for (int i = 0; i < items.getLength() && i < games.size(); i++) {
+                Game game = games.get(i);
+                NodeList names = ((Element) items.item(i)).getElementsByTagName("name");
+                if (game.getName().isEmpty() && names.getLength() > 0) {
+                    game.setName(((Element) names.item(0)).getAttribute("value"));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error parsing BGG search XML", e);
+        }
+        return games;
+    }
+
+    private Game parseGameFromThingElement(Element element) {
+        String bggId = element.getAttribute("id");
+        String name = "";
+        NodeList nameNodes = element.getElementsByTagName("name");
+        for (int i = 0; i < nameNodes.getLength(); i++) {
+            Element nameEl = (Element) nameNodes.item(i);
+            if ("primary".equals(nameEl.getAttribute("type"))) {
+                name = nameEl.getAttribute("value");
+                break;
+            }
+        }
+
+        String description = getElementValue(element, "description");
+        String yearPublished = getAttributeValue(element, "yearpublished");
+        Integer minPlayers = parseInteger(getAttributeValue(element, "minplayers"));
+        Integer maxPlayers = parseInteger(getAttributeValue(element, "maxplayers"));
+        Integer playingTime = parseInteger(getAttributeValue(element, "playingtime"));
+        Integer minAge = parseInteger(getAttributeValue(element, "minage"));
+        String imageUrl = getElementValue(element, "image");
+        String thumbnailUrl = getElementValue(element, "thumbnail");
+
+        BigDecimal bggRating = null;
+        BigDecimal complexity = null;
+        BigDecimal averageRating = null;
+        Integer rank = null;
+
+        Element statsElement = getChildElement(element, "statistics");
+        if (statsElement != null) {
+            Element ratingsElement = getChildElement(statsElement, "ratings");
+            if (ratingsElement != null) {
+                averageRating = getAttributeBigDecimalValue(ratingsElement, "average");
+                bggRating = getAttributeBigDecimalValue(ratingsElement, "bayesaverage");
+                complexity = getAttributeBigDecimalValue(ratingsElement, "averageweight");
+
+                Element ranksElement = getChildElement(ratingsElement, "ranks");
+                if (ranksElement != null) {
+                    NodeList rankList = ranksElement.getElementsByTagName("rank");
+                    for (int i = 0; i < rankList.getLength(); i++) {
+                        Element rankEl = (Element) rankList.item(i);
+                        if ("boardgame".equals(rankEl.getAttribute("name"))) {
+                            rank = parseInteger(rankEl.getAttribute("value"));
+                        }
+                    }
+                }
+            }
+        }
+
+        Game.GameBuilder builder = Game.builder()
+                .bggId(bggId)
+                .name(name)
+                .description(description)
+                .yearPublished(parseInteger(yearPublished))
+                .minPlayers(minPlayers)
+                .maxPlayers(maxPlayers)
+                .playingTime(playingTime)
+                .minAge(minAge)
+                .imageUrl(imageUrl)
+                .thumbnailUrl(thumbnailUrl)
+                .bggRating(bggRating)
+                .averageRating(averageRating)
+                .complexity(complexity)
+                .rank(rank);
+        parsePlayerCountPoll(element).applyTo(builder);
+        return builder.build();
+    }
+
+    private PlayerCountPoll parsePlayerCountPoll(Element element) {
+        PlayerCountPoll poll = new PlayerCountPoll();
+        NodeList polls = element.getElementsByTagName("poll");
+        for (int i = 0; i < polls.getLength(); i++) {
+            Element pollEl = (Element) polls.item(i);
+            if (!PlayerCountPoll.POLL_NAME.equals(pollEl.getAttribute("name"))) continue;
+            NodeList resultsList = pollEl.getElementsByTagName("results");
+            for (int j = 0; j < resultsList.getLength(); j++) {
+                Element results = (Element) resultsList.item(j);
+                NodeList votes = results.getElementsByTagName("result");
+                for (int k = 0; k < votes.getLength(); k++) {
+                    Element vote = (Element) votes.item(k);
+                    poll.vote(results.getAttribute("numplayers"), vote.getAttribute("value"),
+                            vote.getAttribute("numvotes"));
+                }
+            }
+        }
+        return poll;
+    }
+
+    private String getAttributeValue(Element parent, String tagName) {
+        Element el = getChildElement(parent, tagName);
+        return el != null ? el.getAttribute("value") : null;
+    }
+
+    private BigDecimal getAttributeBigDecimalValue(Element parent, String tagName) {
+        Element el = getChildElement(parent, tagName);
+        if (el != null) {
+            String val = el.getAttribute("value");
+            return parseBigDecimal(val);
+        }
+        return null;
+    }
+
+    private String getElementValue(Element element, String tagName) {
+        if (element == null) return null;
+        NodeList nl = element.getElementsByTagName(tagName);
+        return (nl.getLength() > 0) ? nl.item(0).getTextContent() : null;
+    }
+
+    private Element getChildElement(Element parent, String tagName) {
+        if (parent == null) return null;
+        NodeList nl = parent.getElementsByTagName(tagName);
+        return (nl.getLength() > 0) ? (Element) nl.item(0) : null;
+    }
+
+    private Integer parseInteger(String val) {
+        if (val == null || val.isBlank() || val.equalsIgnoreCase("N/A") || val.equalsIgnoreCase("Not Ranked")) {
+            return null;
+        }
+        try {
+            int parsed = Integer.parseInt(val.trim());
+            if (parsed <= 0) {
+                return null;
+            }
+            return parsed;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private BigDecimal parseBigDecimal(String val) {
+        if (val == null || val.isBlank() || val.equalsIgnoreCase("N/A")) {
+            return null;
+        }
+        try {
+            BigDecimal bd = new BigDecimal(val.trim());
+            if (bd.compareTo(BigDecimal.ZERO) < 0) {
+                return null;
+            }
+            return bd;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.bgpack.parser;
+
+import com.bgpack.entity.Game;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the votes of a /thing {@code suggested_numplayers} poll and condenses them into the stored forms:
+ * <ul>
+ *     <li>{@code suggestedNumPlayers}: {@code {"3": [best, recommended, notRecommended], "4+": [...]}}</li>
+ *     <li>{@code recommendedPlayers}: {@code {"best": [3, 4], "recommended": [2, 3, 4, 5]}}</li>
+ *     <li>{@code bestPlayersMask}: the "best" counts as bits, see {@link Game#bestPlayersBit}</li>
+ * </ul>
+ * A count is best when Best has at least as many votes as each other answer, and recommended when
+ * Best and Recommended together outvote Not Recommended; open-ended counts like "4+" are only kept as votes.
+ * One instance per parser pass; not thread-safe.
+ */
+final class PlayerCountPoll {
+
+    static final String POLL_NAME = "suggested_numplayers";
+
+    private static final int BEST = 0;
+    private static final int RECOMMENDED = 1;
+    private static final int NOT_RECOMMENDED = 2;
+
+    private final Map<String, int[]> votes = new LinkedHashMap<>();
+
+    /**
+     * Records one {@code <result value="..." numvotes="..."/>} of the {@code <results numplayers="...">} group.
+     */
+    void vote(final String numPlayers, final String answer, final String numVotes) {
+        if (numPlayers == null || numPlayers.isBlank() || answer == null) return;
+        int index = switch (answer) {
+            case "Best" -> BEST;
+            case "Recommended" -> RECOMMENDED;
+            case "Not Recommended" -> NOT_RECOMMENDED;
+            default -> -1;
+        };
+        if (index < 0) return;
+        Integer count = BggNumbers.parsePositiveInt(numVotes);
+        votes.computeIfAbsent(numPlayers.trim(), k -> new int[3])[index] += count != null ? count : 0;
+    }
+
+    void clear() {
+        votes.clear();
+    }
+
+    /**
+     * Sets the poll-derived fields; leaves them null when the item had no votes, so a stored poll is kept.
+     */
+    void applyTo(final Game.GameBuilder builder) {
+        Map<String, Object> suggested = new LinkedHashMap<>();
+        List<Integer> best = new ArrayList<>();
+        List<Integer> recommended = new ArrayList<>();
+        int mask = 0;
+        boolean anyVotes = false;
+        for (Map.Entry<String, int[]> entry : votes.entrySet()) {
+            int[] v = entry.getValue();
+            if (v[BEST] + v[RECOMMENDED] + v[NOT_RECOMMENDED] == 0) continue;
+            anyVotes = true;
+            suggested.put(entry.getKey(), List.of(v[BEST], v[RECOMMENDED], v[NOT_RECOMMENDED]));
+
+            Integer players = BggNumbers.parsePositiveInt(entry.getKey());
+            if (players == null) continue;
+            if (v[BEST] >= v[RECOMMENDED] && v[BEST] >= v[NOT_RECOMMENDED]) {
+                best.add(players);
+                mask |= Game.bestPlayersBit(players);
+            }
+            if (v[BEST] + v[RECOMMENDED] > v[NOT_RECOMMENDED]) {
+                recommended.add(players);
+            }
+        }
+        if (!anyVotes) return;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("best", best);
+        summary.put("recommended", recommended);
+        builder.suggestedNumPlayers(suggested)
+                .recommendedPlayers(summary)
+                .bestPlayersMask(mask);
+    }
+}
@@ -0,0 +1,86 @@
+package com.bgpack.parser;
+
+import com.bgpack.entity.Game;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull-parser engine: one forward pass over the response, no DOM tree.
+ * Woodstox is picked up from the classpath (it ships with jackson-dataformat-xml).
+ */
+@Component
+@Slf4j
+public class StaxBggXmlParser implements BggXmlParser {
+
+    public static final String ENGINE_NAME = "stax";
+
+    // Configured once; StAX factories are safe to share for creating readers.
+    private final XMLInputFactory inputFactory = createInputFactory();
+
+    static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    @Override
+    public String engineName() {
+        return ENGINE_NAME;
+    }
+
+    @Override
+    public List<Game> parseCollection(final String xmlResponse) {
+        return parse(xmlResponse, StaxItemHandler.Source.COLLECTION);
+    }
+
+    @Override
+    public List<Game> parseThings(final String xmlResponse) {
+        return parse(xmlResponse, StaxItemHandler.Source.THING);
+    }
+
+    @Override
+    public List<Game> parseSearch(final String xmlResponse) {
+        return parse(xmlResponse, StaxItemHandler.Source.SEARCH);
+    }
+
+    private List<Game> parse(final String xmlResponse, final StaxItemHandler.Source source) {
+        if (xmlResponse == null || xmlResponse.isBlank()) return new ArrayList<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(new StringReader(xmlResponse));
+            StaxItemHandler handler = new StaxItemHandler(source);
+            List<Game> games = new ArrayList<>();
+            while (reader.hasNext()) {
+                Game game = handler.onEvent(reader, reader.next());
+                if (game != null) {
+                    games.add(game);
+                }
+            }
+            return games;
+        } catch (XMLStreamException e) {
+            log.error("Error parsing BGG {} XML", source.name().toLowerCase(), e);
+            return new ArrayList<>();
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private void closeQuietly(final XMLStreamReader reader) {
+        if (reader == null) return;
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            log.debug("Failed to close XML reader: {}", e.getMessage());
+        }
+    }
+}
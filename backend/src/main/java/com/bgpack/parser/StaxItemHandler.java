@@ -0,0 +1,286 @@
+package com.bgpack.parser;
+
+import com.bgpack.entity.Game;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.math.BigDecimal;
+
+/**
+ * Single-pass state machine turning StAX cursor events into {@link Game} objects.
+ * It only looks at the current event, so it works both with a blocking reader and
+ * with a non-blocking reader that is fed byte chunks as they arrive.
+ * One instance per document; not thread-safe.
+ */
+final class StaxItemHandler {
+
+    enum Source { COLLECTION, THING, SEARCH }
+
+    private final Source source;
+    private final StringBuilder text = new StringBuilder(256);
+    private final PlayerCountPoll playerCountPoll = new PlayerCountPoll();
+
+    private boolean inItem;
+    private boolean inStats;
+    private boolean inPlayerCountPoll;
+    private String pollNumPlayers;
+    private String capture;
+
+    private String bggId;
+    private String name;
+    private String description;
+    private Integer yearPublished;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private Integer minPlayers;
+    private Integer maxPlayers;
+    private Integer playingTime;
+    private Integer minAge;
+    private BigDecimal bggRating;
+    private BigDecimal averageRating;
+    private BigDecimal complexity;
+    private Integer rank;
+
+    StaxItemHandler(final Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Consumes the event the reader is positioned on.
+     *
+     * @return the finished game when the event closes an {@code <item>}, otherwise null
+     */
+    Game onEvent(final XMLStreamReader reader, final int event) {
+        switch (event) {
+            case XMLStreamConstants.START_ELEMENT -> startElement(reader);
+            case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                if (capture != null) {
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+            }
+            case XMLStreamConstants.END_ELEMENT -> {
+                return endElement(reader.getLocalName());
+            }
+            default -> {
+                // comments, processing instructions and document events carry no game data
+            }
+        }
+        return null;
+    }
+
+    private void startElement(final XMLStreamReader reader) {
+        String local = reader.getLocalName();
+        if (!inItem) {
+            if ("item".equals(local)) {
+                reset();
+                inItem = true;
+                String id = reader.getAttributeValue(null, source == Source.COLLECTION ? "objectid" : "id");
+                bggId = id != null ? id : "";
+            }
+            return;
+        }
+
+        if (inStats) {
+            startStatsElement(local, reader);
+            return;
+        }
+
+        if (inPlayerCountPoll) {
+            startPollElement(local, reader);
+            return;
+        }
+
+        if (source == Source.COLLECTION) {
+            switch (local) {
+                case "name", "yearpublished", "image", "thumbnail" -> startCapture(local);
+                case "stats" -> {
+                    inStats = true;
+                    minPlayers = BggNumbers.parsePositiveInt(reader.getAttributeValue(null, "minplayers"));
+                    maxPlayers = BggNumbers.parsePositiveInt(reader.getAttributeValue(null, "maxplayers"));
+                    playingTime = BggNumbers.parsePositiveInt(reader.getAttributeValue(null, "playingtime"));
+                    minAge = BggNumbers.parsePositiveInt(reader.getAttributeValue(null, "minage"));
+                }
+                default -> {
+                    // not mapped onto Game
+                }
+            }
+        } else {
+            switch (local) {
+                case "name" -> {
+                    boolean primary = "primary".equals(reader.getAttributeValue(null, "type"));
+                    // search hits matched on an alternate title carry only that name
+                    boolean take = source == Source.SEARCH ? primary || name == null : primary && name == null;
+                    if (take) {
+                        name = valueOrEmpty(reader);
+                    }
+                }
+                case "description", "image", "thumbnail" -> startCapture(local);
+                case "yearpublished" -> {
+                    if (yearPublished == null) yearPublished = intValue(reader);
+                }
+                case "minplayers" -> {
+                    if (minPlayers == null) minPlayers = intValue(reader);
+                }
+                case "maxplayers" -> {
+                    if (maxPlayers == null) maxPlayers = intValue(reader);
+                }
+                case "playingtime" -> {
+                    if (playingTime == null) playingTime = intValue(reader);
+                }
+                case "minage" -> {
+                    if (minAge == null) minAge = intValue(reader);
+                }
+                case "statistics" -> inStats = true;
+                case "poll" -> inPlayerCountPoll = source == Source.THING
+                        && PlayerCountPoll.POLL_NAME.equals(reader.getAttributeValue(null, "name"));
+                default -> {
+                    // not mapped onto Game
+                }
+            }
+        }
+    }
+
+    private void startStatsElement(final String local, final XMLStreamReader reader) {
+        switch (local) {
+            case "average" -> {
+                if (averageRating == null) averageRating = decimalValue(reader);
+            }
+            case "bayesaverage" -> {
+                if (bggRating == null) bggRating = decimalValue(reader);
+            }
+            case "averageweight" -> {
+                if (complexity == null) complexity = decimalValue(reader);
+            }
+            case "rank" -> {
+                if ("boardgame".equals(reader.getAttributeValue(null, "name"))) {
+                    rank = BggNumbers.parsePositiveInt(reader.getAttributeValue(null, "value"));
+                }
+            }
+            default -> {
+                // other statistics are not mapped onto Game
+            }
+        }
+    }
+
+    private void startPollElement(final String local, final XMLStreamReader reader) {
+        if ("results".equals(local)) {
+            pollNumPlayers = reader.getAttributeValue(null, "numplayers");
+        } else if ("result".equals(local)) {
+            playerCountPoll.vote(pollNumPlayers, reader.getAttributeValue(null, "value"),
+                    reader.getAttributeValue(null, "numvotes"));
+        }
+    }
+
+    private Game endElement(final String local) {
+        if (!inItem) return null;
+
+        if (capture != null) {
+            if (capture.equals(local)) {
+                assignCaptured(local, text.toString());
+                capture = null;
+            }
+            return null;
+        }
+
+        if (inStats && ("stats".equals(local) || "statistics".equals(local))) {
+            inStats = false;
+            return null;
+        }
+
+        if (inPlayerCountPoll && "poll".equals(local)) {
+            inPlayerCountPoll = false;
+            return null;
+        }
+
+        if ("item".equals(local)) {
+            inItem = false;
+            return build();
+        }
+        return null;
+    }
+
+    private void startCapture(final String local) {
+        if (alreadyCaptured(local)) return;
+        capture = local;
+        text.setLength(0);
+    }
+
+    private boolean alreadyCaptured(final String local) {
+        return switch (local) {
+            case "name" -> name != null;
+            case "description" -> description != null;
+            case "yearpublished" -> yearPublished != null;
+            case "image" -> imageUrl != null;
+            case "thumbnail" -> thumbnailUrl != null;
+            default -> false;
+        };
+    }
+
+    private void assignCaptured(final String local, final String value) {
+        switch (local) {
+            case "name" -> name = value;
+            case "description" -> description = value;
+            case "yearpublished" -> yearPublished = BggNumbers.parsePositiveInt(value);
+            case "image" -> imageUrl = value;
+            case "thumbnail" -> thumbnailUrl = value;
+            default -> {
+                // only the elements listed in startCapture are captured
+            }
+        }
+    }
+
+    private Game build() {
+        Game.GameBuilder builder = Game.builder()
+                .bggId(bggId)
+                .name(source != Source.COLLECTION && name == null ? "" : name)
+                .description(description)
+                .yearPublished(yearPublished)
+                .minPlayers(minPlayers)
+                .maxPlayers(maxPlayers)
+                .playingTime(playingTime)
+                .minAge(minAge)
+                .imageUrl(imageUrl)
+                .thumbnailUrl(thumbnailUrl)
+                .bggRating(bggRating)
+                .averageRating(averageRating)
+                .complexity(complexity)
+                .rank(rank);
+        playerCountPoll.applyTo(builder);
+        return builder.build();
+    }
+
+    private void reset() {
+        inStats = false;
+        inPlayerCountPoll = false;
+        pollNumPlayers = null;
+        playerCountPoll.clear();
+        capture = null;
+        bggId = null;
+        name = null;
+        description = null;
+        yearPublished = null;
+        imageUrl = null;
+        thumbnailUrl = null;
+        minPlayers = null;
+        maxPlayers = null;
+        playingTime = null;
+        minAge = null;
+        bggRating = null;
+        averageRating = null;
+        complexity = null;
+        rank = null;
+    }
+
+    private static Integer intValue(final XMLStreamReader reader) {
+        return BggNumbers.parsePositiveInt(reader.getAttributeValue(null, "value"));
+    }
+
+    private static BigDecimal decimalValue(final XMLStreamReader reader) {
+        return BggNumbers.parseNonNegativeDecimal(reader.getAttributeValue(null, "value"));
+    }
+
+    private static String valueOrEmpty(final XMLStreamReader reader) {
+        String value = reader.getAttributeValue(null, "value");
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,148 @@
+package com.bgpack.parser;
+
+import com.bgpack.entity.Game;
+import com.fasterxml.aalto.AsyncByteBufferFeeder;
+import com.fasterxml.aalto.AsyncXMLStreamReader;
+import com.fasterxml.aalto.stax.InputFactoryImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental parser for BGG responses streamed as {@link DataBuffer} chunks.
+ * Each chunk is fed to a non-blocking Aalto reader and released as soon as it is consumed,
+ * so memory stays proportional to one chunk plus the item being assembled, not to the response.
+ */
+@Component
+@Slf4j
+public class StreamingBggXmlParser {
+
+    private final InputFactoryImpl inputFactory = createInputFactory();
+
+    private static InputFactoryImpl createInputFactory() {
+        InputFactoryImpl factory = new InputFactoryImpl();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Told how many items a fully parsed response held and how long was spent parsing it,
+     * excluding the time spent waiting for chunks to arrive.
+     */
+    @FunctionalInterface
+    public interface ParseListener {
+        ParseListener NONE = (items, parseNanos) -> { };
+
+        void onComplete(int items, long parseNanos);
+    }
+
+    public Flux<Game> parseCollection(final Flux<DataBuffer> body) {
+        return parseCollection(body, ParseListener.NONE);
+    }
+
+    public Flux<Game> parseCollection(final Flux<DataBuffer> body, final ParseListener listener) {
+        return parse(body, StaxItemHandler.Source.COLLECTION, listener);
+    }
+
+    public Flux<Game> parseThings(final Flux<DataBuffer> body) {
+        return parseThings(body, ParseListener.NONE);
+    }
+
+    public Flux<Game> parseThings(final Flux<DataBuffer> body, final ParseListener listener) {
+        return parse(body, StaxItemHandler.Source.THING, listener);
+    }
+
+    private Flux<Game> parse(final Flux<DataBuffer> body, final StaxItemHandler.Source source,
+                             final ParseListener listener) {
+        return Flux.defer(() -> {
+            ParseState state = new ParseState(inputFactory.createAsyncForByteBuffer(), new StaxItemHandler(source));
+            return body
+                    .concatMapIterable(state::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(state.finish())))
+                    .doOnComplete(() -> listener.onComplete(state.items, state.parseNanos))
+                    .doFinally(signal -> state.close())
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    private static final class ParseState {
+
+        private final AsyncXMLStreamReader<AsyncByteBufferFeeder> reader;
+        private final StaxItemHandler handler;
+        private int items;
+        private long parseNanos;
+
+        ParseState(final AsyncXMLStreamReader<AsyncByteBufferFeeder> reader, final StaxItemHandler handler) {
+            this.reader = reader;
+            this.handler = handler;
+        }
+
+        List<Game> feed(final DataBuffer buffer) {
+            long start = System.nanoTime();
+            List<Game> games = new ArrayList<>();
+            try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+                while (chunks.hasNext()) {
+                    reader.getInputFeeder().feedInput(chunks.next());
+                    drain(games);
+                }
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Error parsing streamed BGG XML", e);
+            } finally {
+                DataBufferUtils.release(buffer);
+                parseNanos += System.nanoTime() - start;
+            }
+            items += games.size();
+            return games;
+        }
+
+        List<Game> finish() {
+            long start = System.nanoTime();
+            List<Game> games = new ArrayList<>();
+            reader.getInputFeeder().endOfInput();
+            try {
+                drain(games);
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Error parsing streamed BGG XML", e);
+            } finally {
+                parseNanos += System.nanoTime() - start;
+            }
+            items += games.size();
+            if (reader.getEventType() != XMLStreamConstants.END_DOCUMENT) {
+                throw new IllegalStateException("Streamed BGG XML ended before the document was complete");
+            }
+            return games;
+        }
+
+        private void drain(final List<Game> games) throws XMLStreamException {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == AsyncXMLStreamReader.EVENT_INCOMPLETE) {
+                    return;
+                }
+                Game game = handler.onEvent(reader, event);
+                if (game != null) {
+                    games.add(game);
+                }
+            }
+        }
+
+        void close() {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                log.debug("Failed to close async XML reader: {}", e.getMessage());
+            }
+        }
+    }
+}
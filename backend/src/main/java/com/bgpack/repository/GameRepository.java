@@ -1,6 +1,8 @@
 package com.bgpack.repository;
 
+import com.bgpack.dto.GameSummary;
 import com.bgpack.entity.Game;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,28 +10,79 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface GameRepository extends JpaRepository<Game, Long>, org.springframework.data.jpa.repository.JpaSpecificationExecutor<Game> {
+public interface GameRepository extends JpaRepository<Game, Long>, org.springframework.data.jpa.repository.JpaSpecificationExecutor<Game>,
+        GameRepositoryCustom {
 
     Optional<Game> findByBggId(String bggId);
 
     List<Game> findByBggIdIn(List<String> bggIds);
 
-    @Query("SELECT g FROM Game g WHERE LOWER(g.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    Page<Game> findByNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
+    @Query("SELECT " + GameSummary.SELECT + " FROM Game g WHERE g.id IN :ids")
+    List<GameSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT g FROM Game g WHERE " +
-            "(:minPlayers IS NULL OR g.minPlayers <= :minPlayers) AND " +
-            "(:maxPlayers IS NULL OR g.maxPlayers >= :maxPlayers)")
-    Page<Game> findByPlayersRange(@Param("minPlayers") Integer minPlayers,
-                                  @Param("maxPlayers") Integer maxPlayers,
-                                  Pageable pageable);
+    /*
+     * Keyset pagination: each order ends with id as a tie-breaker and has a matching composite index (V6).
+     * An "After" query returns the rows that follow a (sort value, id) cursor; the redundant range
+     * condition on the sort column is what lets Postgres start the index scan at the cursor.
+     */
 
-    @Query("SELECT g FROM Game g WHERE g.rank IS NOT NULL ORDER BY g.rank ASC")
-    Page<Game> findTopRankedGames(Pageable pageable);
+    @Query("SELECT " + GameSummary.SELECT + " FROM Game g WHERE g.rank IS NOT NULL ORDER BY g.rank, g.id")
+    List<GameSummary> findTopRanked(Limit limit);
+
+    @Query("SELECT " + GameSummary.SELECT + " FROM Game g "
+            + "WHERE g.rank >= :rank AND (g.rank > :rank OR g.id > :id) ORDER BY g.rank, g.id")
+    List<GameSummary> findTopRankedAfter(@Param("rank") int rank, @Param("id") long id, Limit limit);
+
+    @Query("SELECT " + GameSummary.SELECT + " FROM Game g WHERE g.bggRating IS NOT NULL "
+            + "ORDER BY g.bggRating DESC, g.id")
+    List<GameSummary> findTopRated(Limit limit);
+
+    @Query("SELECT " + GameSummary.SELECT + " FROM Game g "
+            + "WHERE g.bggRating <= :rating AND (g.bggRating < :rating OR g.id > :id) "
+            + "ORDER BY g.bggRating DESC, g.id")
+    List<GameSummary> findTopRatedAfter(@Param("rating") BigDecimal rating, @Param("id") long id, Limit limit);
+
+    @Query("SELECT " + GameSummary.SELECT + " FROM Game g "
+            + "WHERE LOWER(g.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY LOWER(g.name), g.id")
+    List<GameSummary> findByNameContaining(@Param("name") String name, Limit limit);
+
+    @Query("SELECT " + GameSummary.SELECT + " FROM Game g "
+            + "WHERE LOWER(g.name) LIKE LOWER(CONCAT('%', :name, '%')) "
+            + "AND LOWER(g.name) >= LOWER(:afterName) AND (LOWER(g.name) > LOWER(:afterName) OR g.id > :id) "
+            + "ORDER BY LOWER(g.name), g.id")
+    List<GameSummary> findByNameContainingAfter(@Param("name") String name, @Param("afterName") String afterName,
+                                                @Param("id") long id, Limit limit);
+
+    @Query("SELECT " + GameSummary.SELECT + " FROM Game g WHERE "
+            + "(:minPlayers IS NULL OR g.minPlayers <= :minPlayers) AND "
+            + "(:maxPlayers IS NULL OR g.maxPlayers >= :maxPlayers) AND "
+            + "g.id > :id ORDER BY g.id")
+    List<GameSummary> findByPlayersRangeAfter(@Param("minPlayers") Integer minPlayers,
+                                              @Param("maxPlayers") Integer maxPlayers,
+                                              @Param("id") long id, Limit limit);
+
+    /**
+     * Ids of games whose lower-cased name contains {@code pattern} (a LIKE pattern) or is trigram-similar to
+     * {@code query}, best match first: exact name, then prefix, then similarity. Served by the trigram
+     * index (V7).
+     */
+    @Query(value = """
+            SELECT g.id FROM games g
+            WHERE lower(g.name) LIKE :pattern OR lower(g.name) % :query
+            ORDER BY lower(g.name) = :query DESC,
+                     lower(g.name) LIKE :prefix DESC,
+                     similarity(lower(g.name), :query) DESC,
+                     g.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> searchIdsByName(@Param("query") String query, @Param("pattern") String pattern,
+                               @Param("prefix") String prefix, @Param("limit") int limit);
 
     @Query("SELECT g FROM Game g JOIN g.tags t WHERE t.name IN :tagNames")
     Page<Game> findByTagsNameIn(@Param("tagNames") List<String> tagNames, Pageable pageable);
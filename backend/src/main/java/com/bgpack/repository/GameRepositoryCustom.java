@@ -0,0 +1,20 @@
+package com.bgpack.repository;
+
+import com.bgpack.entity.Game;
+
+import java.util.List;
+import java.util.Map;
+
+public interface GameRepositoryCustom {
+
+    /**
+     * Inserts or updates games by bgg_id using JDBC batches of native upserts.
+     * Does not touch entities already loaded into the persistence context.
+     */
+    void upsertAll(List<Game> games);
+
+    /**
+     * Adds the given hit counts to {@code cache_hits}, keyed by game id, in JDBC batches.
+     */
+    void addCacheHits(Map<Long, Long> hitsById);
+}
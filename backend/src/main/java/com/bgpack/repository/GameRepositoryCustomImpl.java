@@ -0,0 +1,114 @@
+package com.bgpack.repository;
+
+import com.bgpack.entity.Game;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class GameRepositoryCustomImpl implements GameRepositoryCustom {
+
+    /**
+     * The collection endpoint carries neither description, weight nor polls, so a sync must not
+     * wipe values that /thing enrichment already stored for those columns.
+     */
+    private static final String UPSERT_SQL = """
+            INSERT INTO games (bgg_id, name, description, year_published, min_players, max_players,
+                               playing_time, min_age, image_url, thumbnail_url, rank, bgg_rating,
+                               average_rating, complexity, suggested_num_players, recommended_players,
+                               best_players_mask, cached_at, last_updated, cache_hits)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?, now(), now(), 0)
+            ON CONFLICT (bgg_id) DO UPDATE SET
+                name = EXCLUDED.name,
+                description = COALESCE(EXCLUDED.description, games.description),
+                year_published = EXCLUDED.year_published,
+                min_players = EXCLUDED.min_players,
+                max_players = EXCLUDED.max_players,
+                playing_time = EXCLUDED.playing_time,
+                min_age = EXCLUDED.min_age,
+                image_url = EXCLUDED.image_url,
+                thumbnail_url = EXCLUDED.thumbnail_url,
+                rank = EXCLUDED.rank,
+                bgg_rating = EXCLUDED.bgg_rating,
+                average_rating = EXCLUDED.average_rating,
+                complexity = COALESCE(EXCLUDED.complexity, games.complexity),
+                suggested_num_players = COALESCE(EXCLUDED.suggested_num_players, games.suggested_num_players),
+                recommended_players = COALESCE(EXCLUDED.recommended_players, games.recommended_players),
+                best_players_mask = COALESCE(EXCLUDED.best_players_mask, games.best_players_mask),
+                cached_at = EXCLUDED.cached_at,
+                last_updated = EXCLUDED.last_updated
+            """;
+
+    private static final String ADD_CACHE_HITS_SQL =
+            "UPDATE games SET cache_hits = COALESCE(cache_hits, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public GameRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void upsertAll(List<Game> games) {
+        if (games.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPSERT_SQL, games, batchSize, this::bindGame);
+        log.debug("Upserted {} games in batches of {}", games.size(), batchSize);
+    }
+
+    @Override
+    public void addCacheHits(Map<Long, Long> hitsById) {
+        if (hitsById.isEmpty()) return;
+        // a fixed row order keeps concurrent flushes from deadlocking on each other
+        List<Map.Entry<Long, Long>> rows = hitsById.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        jdbcTemplate.batchUpdate(ADD_CACHE_HITS_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.getValue());
+            ps.setLong(2, row.getKey());
+        });
+        log.debug("Flushed cache hits for {} games", rows.size());
+    }
+
+    private void bindGame(PreparedStatement ps, Game game) throws SQLException {
+        ps.setString(1, game.getBggId());
+        ps.setString(2, game.getName());
+        ps.setString(3, game.getDescription());
+        ps.setObject(4, game.getYearPublished(), Types.INTEGER);
+        ps.setObject(5, game.getMinPlayers(), Types.INTEGER);
+        ps.setObject(6, game.getMaxPlayers(), Types.INTEGER);
+        ps.setObject(7, game.getPlayingTime(), Types.INTEGER);
+        ps.setObject(8, game.getMinAge(), Types.INTEGER);
+        ps.setString(9, game.getImageUrl());
+        ps.setString(10, game.getThumbnailUrl());
+        ps.setObject(11, game.getRank(), Types.INTEGER);
+        ps.setBigDecimal(12, game.getBggRating());
+        ps.setBigDecimal(13, game.getAverageRating());
+        ps.setBigDecimal(14, game.getComplexity());
+        ps.setString(15, toJson(game.getSuggestedNumPlayers()));
+        ps.setString(16, toJson(game.getRecommendedPlayers()));
+        ps.setObject(17, game.getBestPlayersMask(), Types.INTEGER);
+    }
+
+    private String toJson(Map<String, Object> value) {
+        if (value == null) return null;
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize JSONB value", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bgpack.repository;
+
+import com.bgpack.entity.SyncJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SyncJobRepository extends JpaRepository<SyncJob, Long> {
+
+    /**
+     * Inserts a PENDING job unless an open one already exists for the same (username, subtype).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO sync_jobs (username, subtype, status, attempts, next_attempt_at, created_at, updated_at)
+            VALUES (:username, :subtype, 'PENDING', 0, NOW(), NOW(), NOW())
+            ON CONFLICT (username, (COALESCE(subtype, ''))) WHERE status IN ('PENDING', 'RUNNING') DO NOTHING
+            """, nativeQuery = true)
+    int insertIfNoneOpen(@Param("username") String username, @Param("subtype") String subtype);
+
+    @Query("SELECT j FROM SyncJob j WHERE j.username = :username "
+            + "AND COALESCE(j.subtype, '') = COALESCE(:subtype, '') "
+            + "AND j.status IN (com.bgpack.entity.SyncJob.Status.PENDING, com.bgpack.entity.SyncJob.Status.RUNNING)")
+    Optional<SyncJob> findOpen(@Param("username") String username, @Param("subtype") String subtype);
+
+    /**
+     * Locks up to {@code limit} due jobs, skipping rows another worker already holds. Due means PENDING with
+     * {@code next_attempt_at} passed, or RUNNING with an expired lease. Must run inside a transaction.
+     */
+    @Query(value = """
+            SELECT * FROM sync_jobs
+            WHERE (status = 'PENDING' AND next_attempt_at <= NOW())
+               OR (status = 'RUNNING' AND locked_until < NOW())
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<SyncJob> lockDueJobs(@Param("limit") int limit);
+
+    /**
+     * Ends a claimed run as DONE or FAILED. Matches nothing once the job was reclaimed under another token.
+     */
+    @Modifying
+    @Query("UPDATE SyncJob j SET j.status = :status, j.lockedUntil = NULL, j.claimToken = NULL, "
+            + "j.lastError = :lastError, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.claimToken = :claimToken "
+            + "AND j.status = com.bgpack.entity.SyncJob.Status.RUNNING")
+    int finishClaimed(@Param("id") Long id, @Param("claimToken") UUID claimToken,
+                      @Param("status") SyncJob.Status status, @Param("lastError") String lastError,
+                      @Param("now") ZonedDateTime now);
+
+    /**
+     * Puts a claimed run back to PENDING, due at {@code nextAttemptAt}; same claim check as {@link #finishClaimed}.
+     */
+    @Modifying
+    @Query("UPDATE SyncJob j SET j.status = com.bgpack.entity.SyncJob.Status.PENDING, j.lockedUntil = NULL, "
+            + "j.claimToken = NULL, j.lastError = :lastError, j.nextAttemptAt = :nextAttemptAt, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.claimToken = :claimToken "
+            + "AND j.status = com.bgpack.entity.SyncJob.Status.RUNNING")
+    int rescheduleClaimed(@Param("id") Long id, @Param("claimToken") UUID claimToken,
+                          @Param("lastError") String lastError, @Param("nextAttemptAt") ZonedDateTime nextAttemptAt,
+                          @Param("now") ZonedDateTime now);
+}
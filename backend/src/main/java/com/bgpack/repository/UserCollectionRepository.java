@@ -1,21 +1,53 @@
 package com.bgpack.repository;
 
+import com.bgpack.dto.GameSummary;
 import com.bgpack.entity.User;
 import com.bgpack.entity.UserCollection;
 import com.bgpack.entity.UserCollectionId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserCollectionRepository extends JpaRepository<UserCollection, UserCollectionId> {
+public interface UserCollectionRepository extends JpaRepository<UserCollection, UserCollectionId>,
+        UserCollectionRepositoryCustom {
+
+    int STREAM_FETCH_SIZE = 200;
 
     List<UserCollection> findAllByUser(User user);
 
+    @Query("SELECT " + GameSummary.SELECT + " FROM UserCollection uc JOIN uc.game g "
+            + "WHERE uc.user.username = :username")
+    List<GameSummary> findSummariesByUsername(@Param("username") String username);
+
+    /**
+     * Forward-only cursor over the user's games, fetched {@code STREAM_FETCH_SIZE} rows at a time.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + GameSummary.SELECT + " FROM UserCollection uc JOIN uc.game g "
+            + "WHERE uc.user.username = :username ORDER BY g.id")
+    Stream<GameSummary> streamSummariesByUsername(@Param("username") String username);
+
     @Query("SELECT uc FROM UserCollection uc WHERE uc.game.id = :gameId")
     List<UserCollection> findByGameId(@Param("gameId") Long gameId);
 
+    @Query("SELECT uc.game.id FROM UserCollection uc WHERE uc.user.username = :username AND uc.status = :status")
+    List<Long> findGameIdsByUsernameAndStatus(@Param("username") String username,
+                                              @Param("status") UserCollection.CollectionStatus status);
+
+    @Query("SELECT uc.game.bggId FROM UserCollection uc WHERE uc.user.username = :username AND uc.status = :status")
+    List<String> findBggIdsByUsernameAndStatus(@Param("username") String username,
+                                               @Param("status") UserCollection.CollectionStatus status);
+
 }
\ No newline at end of file
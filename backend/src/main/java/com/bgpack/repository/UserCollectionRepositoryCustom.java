@@ -0,0 +1,28 @@
+package com.bgpack.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface UserCollectionRepositoryCustom {
+
+    /**
+     * Inserts missing OWNED rows and updates changed ones in a single statement.
+     *
+     * @param ratingsByGameId game id to rating (nullable) for every game in the fetched collection
+     * @return number of inserted or updated rows
+     */
+    int upsertOwned(Long userId, Map<Long, Integer> ratingsByGameId);
+
+    /**
+     * Deletes the user's OWNED rows whose game is not in {@code keepGameIds} in a single statement.
+     *
+     * @return number of deleted rows
+     */
+    int deleteOwnedExcept(Long userId, Collection<Long> keepGameIds);
+
+    /**
+     * md5 over the user's own collection rows (game, rating, status), in game id order; an empty collection
+     * hashes the empty string. Shared game columns are left out, as other users' syncs change them too.
+     */
+    String contentHash(Long userId);
+}
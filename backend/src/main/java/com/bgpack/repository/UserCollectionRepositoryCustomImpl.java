@@ -0,0 +1,73 @@
+package com.bgpack.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+
+public class UserCollectionRepositoryCustomImpl implements UserCollectionRepositoryCustom {
+
+    private static final String UPSERT_OWNED_SQL = """
+            INSERT INTO user_collections (user_id, game_id, rating, status, added_at)
+            SELECT ?, t.game_id, t.rating, 'OWNED', now()
+            FROM unnest(CAST(? AS bigint[]), CAST(? AS integer[])) AS t(game_id, rating)
+            ON CONFLICT (user_id, game_id) DO UPDATE SET
+                rating = EXCLUDED.rating,
+                status = EXCLUDED.status
+            WHERE user_collections.rating IS DISTINCT FROM EXCLUDED.rating
+               OR user_collections.status IS DISTINCT FROM EXCLUDED.status
+            """;
+
+    private static final String DELETE_OWNED_EXCEPT_SQL = """
+            DELETE FROM user_collections
+            WHERE user_id = ?
+              AND status = 'OWNED'
+              AND game_id <> ALL (CAST(? AS bigint[]))
+            """;
+
+    private static final String CONTENT_HASH_SQL = """
+            SELECT md5(COALESCE(string_agg(concat_ws('|', uc.game_id, uc.rating, uc.status),
+                                           ',' ORDER BY uc.game_id), ''))
+            FROM user_collections uc
+            WHERE uc.user_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserCollectionRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int upsertOwned(Long userId, Map<Long, Integer> ratingsByGameId) {
+        if (ratingsByGameId.isEmpty()) return 0;
+        Long[] gameIds = ratingsByGameId.keySet().toArray(new Long[0]);
+        Integer[] ratings = ratingsByGameId.values().toArray(new Integer[0]);
+        return jdbcTemplate.update(UPSERT_OWNED_SQL, ps -> {
+            ps.setLong(1, userId);
+            ps.setArray(2, createArray(ps, "bigint", gameIds));
+            ps.setArray(3, createArray(ps, "integer", ratings));
+        });
+    }
+
+    @Override
+    public int deleteOwnedExcept(Long userId, Collection<Long> keepGameIds) {
+        Long[] gameIds = keepGameIds.toArray(new Long[0]);
+        return jdbcTemplate.update(DELETE_OWNED_EXCEPT_SQL, ps -> {
+            ps.setLong(1, userId);
+            ps.setArray(2, createArray(ps, "bigint", gameIds));
+        });
+    }
+
+    @Override
+    public String contentHash(Long userId) {
+        return jdbcTemplate.queryForObject(CONTENT_HASH_SQL, String.class, userId);
+    }
+
+    private Array createArray(PreparedStatement ps, String sqlType, Object[] values) throws SQLException {
+        return ps.getConnection().createArrayOf(sqlType, values);
+    }
+}
@@ -1,7 +1,10 @@
 package com.bgpack.repository;
 
+import com.bgpack.dto.CollectionVersion;
 import com.bgpack.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +14,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    /**
+     * Scalar projection, so it always reads the committed row rather than a User already in the persistence context.
+     * Also reads the newest update of the user's games, which can change without this user syncing.
+     */
+    @Query("SELECT new com.bgpack.dto.CollectionVersion(u.lastSync, u.collectionHash, u.collectionChangedAt, "
+            + "(SELECT max(g.lastUpdated) FROM UserCollection uc JOIN uc.game g WHERE uc.user = u)) "
+            + "FROM User u WHERE u.username = :username")
+    Optional<CollectionVersion> findCollectionVersion(@Param("username") String username);
+
 }
\ No newline at end of file
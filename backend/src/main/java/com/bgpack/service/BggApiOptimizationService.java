@@ -4,125 +4,209 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Admission control for BGG calls: a sliding one-hour quota (global and per endpoint) and a
+ * closed/open/half-open circuit breaker per endpoint. All state is lock-free, so checks stay cheap
+ * on the request path.
+ */
 @Service
 @Slf4j
 public class BggApiOptimizationService {
 
-    private final ConcurrentHashMap<String, RequestStats> requestStats = new ConcurrentHashMap<>();
-    private final AtomicInteger totalRequests = new AtomicInteger(0);
-    private final AtomicInteger failedRequests = new AtomicInteger(0);
+    private static final Duration QUOTA_WINDOW = Duration.ofHours(1);
+    private static final int QUOTA_BUCKETS = 60;
+
+    private final ConcurrentHashMap<String, EndpointStats> endpointStats = new ConcurrentHashMap<>();
+    private final SlidingWindowCounter admitted = new SlidingWindowCounter(QUOTA_WINDOW, QUOTA_BUCKETS);
+    private final SlidingWindowCounter completed = new SlidingWindowCounter(QUOTA_WINDOW, QUOTA_BUCKETS);
+    private final SlidingWindowCounter failed = new SlidingWindowCounter(QUOTA_WINDOW, QUOTA_BUCKETS);
 
     @Value("${bgg.api.max-requests-per-hour:720}")
     private int maxRequestsPerHour;
 
+    @Value("${bgg.api.max-requests-per-hour-per-endpoint:0}")
+    private int maxRequestsPerHourPerEndpoint;
+
     @Value("${bgg.api.circuit-breaker-threshold:5}")
     private int circuitBreakerThreshold;
 
     @Value("${bgg.api.circuit-breaker-timeout:300}")
     private int circuitBreakerTimeoutSeconds;
 
-    public boolean shouldMakeRequest(String endpoint) {
-        RequestStats stats = requestStats.computeIfAbsent(endpoint, k -> new RequestStats());
+    /**
+     * Admits a request when the endpoint's breaker lets it through and both quotas have room, and counts it
+     * against the quotas. The quota check and the increment are not one atomic step, so concurrent callers
+     * can overshoot a quota by at most their number. Report the outcome with {@link #recordRequest}.
+     */
+    public Optional<Admission> admit(String endpoint) {
+        EndpointStats stats = statsFor(endpoint);
 
-        if (stats.isCircuitOpen()) {
-            log.warn("Circuit breaker is open for endpoint: {}", endpoint);
-            return false;
-        }
-
-        if (totalRequests.get() >= maxRequestsPerHour) {
+        if (admitted.sum() >= maxRequestsPerHour) {
             log.warn("Hourly request limit reached: {}", maxRequestsPerHour);
-            return false;
+            return Optional.empty();
         }
 
-        return true;
-    }
-
-    public void recordRequest(String endpoint, boolean success) {
-        RequestStats stats = requestStats.computeIfAbsent(endpoint, k -> new RequestStats());
-        stats.recordRequest(success);
-
-        totalRequests.incrementAndGet();
-        if (!success) {
-            failedRequests.incrementAndGet();
+        if (maxRequestsPerHourPerEndpoint > 0 && stats.admitted.sum() >= maxRequestsPerHourPerEndpoint) {
+            log.warn("Hourly request limit reached for endpoint {}: {}", endpoint, maxRequestsPerHourPerEndpoint);
+            return Optional.empty();
         }
 
-        if (stats.getConsecutiveFailures() >= circuitBreakerThreshold) {
-            stats.openCircuit();
-            log.warn("Circuit breaker opened for endpoint: {} due to {} consecutive failures",
-                    endpoint, circuitBreakerThreshold);
+        long generation = stats.breaker.tryAcquire();
+        if (generation < 0) {
+            log.warn("Circuit breaker is open for endpoint: {}", endpoint);
+            return Optional.empty();
         }
+
+        admitted.increment();
+        stats.admitted.increment();
+        return Optional.of(new Admission(endpoint, generation));
     }
 
-    public void resetHourlyCounter() {
-        totalRequests.set(0);
-        failedRequests.set(0);
-        requestStats.clear();
-        log.info("Hourly request counters and circuit breakers reset");
+    public void recordRequest(Admission admission, boolean success) {
+        EndpointStats stats = statsFor(admission.endpoint());
+        completed.increment();
+        if (success) {
+            stats.breaker.onSuccess(admission.generation());
+            return;
+        }
+        failed.increment();
+        if (stats.breaker.onFailure(admission.generation())) {
+            log.warn("Circuit breaker opened for endpoint: {} after {} consecutive failures",
+                    admission.endpoint(), circuitBreakerThreshold);
+        }
     }
 
+    /**
+     * Share of requests completed in the last hour that succeeded.
+     */
     public double getSuccessRate() {
-        int total = totalRequests.get();
+        long total = completed.sum();
         if (total == 0) return 100.0;
-        return ((double) (total - failedRequests.get()) / total) * 100.0;
+        return ((double) (total - failed.sum()) / total) * 100.0;
+    }
+
+    public long getRequestsInWindow() {
+        return admitted.sum();
+    }
+
+    public CircuitState getCircuitState(String endpoint) {
+        EndpointStats stats = endpointStats.get(endpoint);
+        return stats == null ? CircuitState.CLOSED : stats.breaker.state();
     }
 
     public void resetCircuitBreaker(String endpoint) {
-        RequestStats stats = requestStats.get(endpoint);
+        EndpointStats stats = endpointStats.get(endpoint);
         if (stats != null) {
-            stats.reset();
+            stats.breaker.reset();
             log.info("Circuit breaker manually reset for endpoint: {}", endpoint);
         }
     }
 
-    private static class RequestStats {
-        private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
-        private final AtomicInteger totalRequests = new AtomicInteger(0);
-        private LocalDateTime circuitOpenTime;
-        private boolean circuitOpen = false;
+    private EndpointStats statsFor(String endpoint) {
+        EndpointStats stats = endpointStats.get(endpoint);
+        return stats != null ? stats : endpointStats.computeIfAbsent(endpoint,
+                k -> new EndpointStats(new CircuitBreaker(circuitBreakerThreshold,
+                        Duration.ofSeconds(circuitBreakerTimeoutSeconds))));
+    }
 
-        public void recordRequest(boolean success) {
-            totalRequests.incrementAndGet();
-            if (success) {
-                consecutiveFailures.set(0);
-                circuitOpen = false;
-                circuitOpenTime = null;
-            } else {
-                consecutiveFailures.incrementAndGet();
+    public enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * An admitted request. {@code generation} is the breaker state it was admitted under, so an outcome
+     * reported after the breaker moved on is recognized as late.
+     */
+    public record Admission(String endpoint, long generation) {
+    }
+
+    private record EndpointStats(CircuitBreaker breaker, SlidingWindowCounter admitted) {
+        EndpointStats(CircuitBreaker breaker) {
+            this(breaker, new SlidingWindowCounter(QUOTA_WINDOW, QUOTA_BUCKETS));
+        }
+    }
+
+    /**
+     * CLOSED counts consecutive failures and opens at the threshold. OPEN rejects until the timeout has
+     * passed, then lets a single probe through (HALF_OPEN); the probe's outcome closes or re-opens it.
+     * A probe that never reports back is replaced after another timeout.
+     * <p>
+     * Every transition starts a new generation, and a request is admitted under the current one. Outcomes
+     * from an older generation (a request still in flight when the breaker opened, say) change nothing, so
+     * only the probe decides HALF_OPEN, and a late failure cannot re-open a breaker the probe just closed.
+     */
+    static final class CircuitBreaker {
+
+        private record State(CircuitState circuitState, long sinceNanos, long generation) {
+
+            State next(final CircuitState target, final long now) {
+                return new State(target, now, generation + 1);
             }
         }
 
-        public void reset() {
-            consecutiveFailures.set(0);
-            circuitOpen = false;
-            circuitOpenTime = null;
+        private final int threshold;
+        private final long timeoutNanos;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicReference<State> state =
+                new AtomicReference<>(new State(CircuitState.CLOSED, System.nanoTime(), 0));
+
+        CircuitBreaker(final int threshold, final Duration timeout) {
+            this.threshold = threshold;
+            this.timeoutNanos = timeout.toNanos();
         }
 
-        public boolean isCircuitOpen() {
-            if (!circuitOpen) return false;
+        /**
+         * @return the generation the request is admitted under, or -1 when it is rejected
+         */
+        long tryAcquire() {
+            State current = state.get();
+            if (current.circuitState() == CircuitState.CLOSED) return current.generation();
+
+            long now = System.nanoTime();
+            if (now - current.sinceNanos() < timeoutNanos) return -1;
+            State probe = current.next(CircuitState.HALF_OPEN, now);
+            return state.compareAndSet(current, probe) ? probe.generation() : -1;
+        }
 
-            if (circuitOpenTime != null &&
-                ChronoUnit.SECONDS.between(circuitOpenTime, LocalDateTime.now()) > 300) {
-                circuitOpen = false;
-                circuitOpenTime = null;
+        void onSuccess(final long generation) {
+            State current = state.get();
+            if (current.generation() != generation) return;
+            if (current.circuitState() == CircuitState.CLOSED) {
+                consecutiveFailures.set(0);
+            } else if (current.circuitState() == CircuitState.HALF_OPEN
+                    && state.compareAndSet(current, current.next(CircuitState.CLOSED, System.nanoTime()))) {
                 consecutiveFailures.set(0);
-                return false;
             }
+        }
 
-            return true;
+        /**
+         * @return true if this failure opened the circuit
+         */
+        boolean onFailure(final long generation) {
+            State current = state.get();
+            if (current.generation() != generation) return false;
+            if (current.circuitState() == CircuitState.HALF_OPEN) {
+                return state.compareAndSet(current, current.next(CircuitState.OPEN, System.nanoTime()));
+            }
+            if (current.circuitState() == CircuitState.CLOSED && consecutiveFailures.incrementAndGet() >= threshold) {
+                return state.compareAndSet(current, current.next(CircuitState.OPEN, System.nanoTime()));
+            }
+            return false;
         }
 
-        public void openCircuit() {
-            circuitOpen = true;
-            circuitOpenTime = LocalDateTime.now();
+        void reset() {
+            consecutiveFailures.set(0);
+            state.updateAndGet(current -> current.next(CircuitState.CLOSED, System.nanoTime()));
         }
 
-        public int getConsecutiveFailures() {
-            return consecutiveFailures.get();
+        CircuitState state() {
+            return state.get().circuitState();
         }
     }
 }
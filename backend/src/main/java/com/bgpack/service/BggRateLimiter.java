@@ -1,33 +1,120 @@
 package com.bgpack.service;
 
-import com.google.common.util.concurrent.RateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking token bucket shared by every BGG call. A permit is reserved with one CAS on the bucket's
+ * theoretical arrival time; a caller that has to wait gets a {@code Mono.delay} on the shared timer
+ * instead of a parked thread. Up to {@code burst} permits may be taken back to back after an idle period.
+ */
 @Component
 @Slf4j
 public class BggRateLimiter {
 
-    private final RateLimiter rateLimiter;
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong delayedPermits = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final Timer waitTimer;
 
-    public BggRateLimiter(@Value("${bgg.api.rate-limit:0.2}") double rateLimit) {
-        this.rateLimiter = RateLimiter.create(rateLimit);
-        log.info("BGG Rate limiter initialized with rate: {} requests per second", rateLimit);
+    public BggRateLimiter(@Value("${bgg.api.rate-limit:0.2}") double rateLimit,
+                          @Value("${bgg.api.rate-limit-burst:1}") int burst,
+                          MeterRegistry meterRegistry) {
+        if (rateLimit <= 0 || burst < 1) {
+            throw new IllegalArgumentException("bgg.api.rate-limit must be > 0 and rate-limit-burst >= 1");
+        }
+        this.intervalNanos = (long) (1_000_000_000L / rateLimit);
+        this.burstToleranceNanos = intervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+        this.waitTimer = Timer.builder("bgg.ratelimiter.wait")
+                .description("Time a BGG request waited for a rate-limiter permit")
+                .register(meterRegistry);
+        Gauge.builder("bgg.ratelimiter.queue", waiting, AtomicInteger::get)
+                .description("Requests currently waiting for a rate-limiter permit")
+                .register(meterRegistry);
+        log.info("BGG Rate limiter initialized with rate: {} requests per second, burst: {}", rateLimit, burst);
     }
 
-    public void acquire() {
-        double waitTime = rateLimiter.acquire();
-        if (waitTime > 0) {
-            log.debug("Rate limited, waited {} seconds", waitTime);
-        }
+    /**
+     * Completes when a permit is available. The permit is reserved on subscription, so compose this
+     * in front of the call it guards (inside any retry, so every attempt pays for its own permit).
+     * A cancelled wait does not return its reserved slot.
+     */
+    public Mono<Void> acquirePermit() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            if (waitNanos == 0) {
+                return Mono.empty();
+            }
+            waiting.incrementAndGet();
+            delayedPermits.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            log.debug("Rate limited, waiting {} ms ({} queued)", waitNanos / 1_000_000, waiting.get());
+            return Mono.delay(Duration.ofNanos(waitNanos))
+                    .doFinally(signal -> waiting.decrementAndGet())
+                    .then();
+        });
     }
 
+    /**
+     * Takes a permit only if one is free right now.
+     */
     public boolean tryAcquire() {
-        return rateLimiter.tryAcquire();
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, now);
+            if (start - burstToleranceNanos > now) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                return true;
+            }
+        }
     }
 
-    public boolean tryAcquire(long timeout, java.util.concurrent.TimeUnit unit) {
-        return rateLimiter.tryAcquire(timeout, unit);
+    /** Callers currently delayed waiting for a permit. */
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+
+    /** How long a caller arriving now would wait for a permit. */
+    public Duration getCurrentWait() {
+        long now = System.nanoTime();
+        return Duration.ofNanos(Math.max(0, theoreticalArrival.get() - burstToleranceNanos - now));
+    }
+
+    /** Permits that had to wait, and their total wait since startup. */
+    public long getDelayedPermits() {
+        return delayedPermits.get();
+    }
+
+    public Duration getTotalWait() {
+        return Duration.ofNanos(totalWaitNanos.get());
+    }
+
+    private long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, now);
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                return Math.max(0, start - burstToleranceNanos - now);
+            }
+        }
     }
 }
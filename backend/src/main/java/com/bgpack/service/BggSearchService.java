@@ -0,0 +1,129 @@
+package com.bgpack.service;
+
+import com.bgpack.client.BggApiClient;
+import com.bgpack.entity.Game;
+import com.bgpack.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Raw (unfiltered) BGG search results, cached per normalized query. Request filters and sorting are
+ * applied on top by {@link BggService#getGames}, so they never leak into the cache.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BggSearchService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final BggApiClient bggApiClient;
+    private final BggXmlParserService xmlParserService;
+    private final BggApiOptimizationService optimizationService;
+    private final GameCacheService gameCacheService;
+    private final GameRepository gameRepository;
+    private final SingleFlight<String, List<Game>> searches = new SingleFlight<>();
+
+    /**
+     * Cache key for a search: Unicode-normalized, trimmed, whitespace-collapsed and lower-cased,
+     * so "Catan", "catan " and "CATAN" share one entry. Empty for a blank query.
+     */
+    public static String normalizeQuery(final String query) {
+        if (query == null) return "";
+        String normalized = Normalizer.normalize(query, Normalizer.Form.NFKC);
+        return WHITESPACE.matcher(normalized.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Searches BGG and returns every hit in BGG order, each as the stored game when we already know it
+     * (search hits only carry id, name and year) or as a newly stored stub. Concurrent misses for the same
+     * query share one BGG call through {@link SingleFlight} rather than {@code sync = true}, which would run
+     * the permit wait and the BGG call inside Caffeine's map lock and stall unrelated keys in the same bin.
+     * Throttling and failures throw, so they are never cached.
+     */
+    @Cacheable(value = "games", key = "#normalizedQuery")
+    public List<Game> search(final String normalizedQuery) {
+        return searches.execute(normalizedQuery, () -> searchBgg(normalizedQuery));
+    }
+
+    private List<Game> searchBgg(final String normalizedQuery) {
+        BggApiOptimizationService.Admission admission = optimizationService.admit("search")
+                .orElseThrow(() -> new IllegalStateException(
+                        "BGG search is currently not allowed (quota or circuit breaker)"));
+
+        List<Game> hits;
+        try {
+            hits = xmlParserService.parseSearch(bggApiClient.searchGames(normalizedQuery).block());
+            optimizationService.recordRequest(admission, true);
+        } catch (RuntimeException e) {
+            optimizationService.recordRequest(admission, false);
+            throw e;
+        }
+        log.info("BGG search '{}' returned {} hits", normalizedQuery, hits.size());
+        return resolve(hits);
+    }
+
+    private List<Game> resolve(final List<Game> hits) {
+        Map<String, Game> uniqueByBggId = new LinkedHashMap<>();
+        hits.forEach(hit -> uniqueByBggId.putIfAbsent(hit.getBggId(), hit));
+        if (uniqueByBggId.isEmpty()) return new ArrayList<>();
+
+        Map<String, Game> stored = new HashMap<>();
+        gameRepository.findByBggIdIn(new ArrayList<>(uniqueByBggId.keySet()))
+                .forEach(game -> stored.put(game.getBggId(), game));
+
+        List<Game> unknown = uniqueByBggId.values().stream()
+                .filter(hit -> !stored.containsKey(hit.getBggId()))
+                .toList();
+        if (!unknown.isEmpty()) {
+            gameCacheService.saveOrUpdateAll(unknown).forEach(game -> stored.put(game.getBggId(), game));
+        }
+
+        return uniqueByBggId.keySet().stream()
+                .map(stored::get)
+                .filter(Objects::nonNull)
+                .map(BggSearchService::detachedCopy)
+                .toList();
+    }
+
+    /**
+     * Cached values outlive the persistence context, so they hold scalar copies without lazy associations.
+     */
+    private static Game detachedCopy(final Game game) {
+        return Game.builder()
+                .id(game.getId())
+                .bggId(game.getBggId())
+                .name(game.getName())
+                .description(game.getDescription())
+                .yearPublished(game.getYearPublished())
+                .minPlayers(game.getMinPlayers())
+                .maxPlayers(game.getMaxPlayers())
+                .playingTime(game.getPlayingTime())
+                .minAge(game.getMinAge())
+                .imageUrl(game.getImageUrl())
+                .thumbnailUrl(game.getThumbnailUrl())
+                .rank(game.getRank())
+                .bggRating(game.getBggRating())
+                .averageRating(game.getAverageRating())
+                .complexity(game.getComplexity())
+                .suggestedNumPlayers(game.getSuggestedNumPlayers())
+                .recommendedPlayers(game.getRecommendedPlayers())
+                .bestPlayersMask(game.getBestPlayersMask())
+                .cachedAt(game.getCachedAt())
+                .cacheHits(game.getCacheHits())
+                .lastUpdated(game.getLastUpdated())
+                .build();
+    }
+}
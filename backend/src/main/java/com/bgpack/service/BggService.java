@@ -1,232 +1,307 @@
 package com.bgpack.service;
 
 import com.bgpack.client.BggApiClient;
+import com.bgpack.dto.CollectionVersion;
 import com.bgpack.dto.GameSearchRequest;
+import com.bgpack.dto.GameSummary;
 import com.bgpack.entity.Game;
-import com.bgpack.entity.User;
 import com.bgpack.entity.UserCollection;
-import com.bgpack.entity.UserCollectionId;
+import com.bgpack.exception.BggExceptions.CollectionPendingException;
 import com.bgpack.repository.GameRepository;
 import com.bgpack.repository.UserRepository;
 import com.bgpack.repository.UserCollectionRepository;
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @Slf4j
 public class BggService {
 
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
     private final BggApiClient bggApiClient;
     private final BggXmlParserService xmlParserService;
-    private final BggRateLimiter rateLimiter;
     private final BggApiOptimizationService optimizationService;
     private final GameCacheService gameCacheService;
     private final UserRepository userRepository;
     private final UserCollectionRepository userCollectionRepository;
     private final GameRepository gameRepository;
+    private final CollectionSyncService collectionSyncService;
+    private final BggSearchService bggSearchService;
+    private final CatalogSearchService catalogSearchService;
+    private final LocalFirstSearchService localFirstSearchService;
+    private final SyncJobService syncJobService;
+    private final Scheduler blockingWorkScheduler;
+    private final SingleFlight<CollectionKey, CollectionSyncResult> collectionSyncs = new SingleFlight<>();
+    private final Set<CollectionKey> backgroundRefreshes = ConcurrentHashMap.newKeySet();
+    private final int thingBatchSize;
+    private final int thingConcurrency;
+    private final Duration collectionStaleAfter;
+    private final Duration collectionHardExpiry;
 
     public BggService(BggApiClient bggApiClient,
                       BggXmlParserService xmlParserService,
-                      BggRateLimiter rateLimiter,
                       BggApiOptimizationService optimizationService,
                       GameCacheService gameCacheService,
                       UserRepository userRepository,
-                      UserCollectionRepository userCollectionRepository, GameRepository gameRepository) {
+                      UserCollectionRepository userCollectionRepository,
+                      GameRepository gameRepository,
+                      CollectionSyncService collectionSyncService,
+                      BggSearchService bggSearchService,
+                      CatalogSearchService catalogSearchService,
+                      LocalFirstSearchService localFirstSearchService,
+                      SyncJobService syncJobService,
+                      Scheduler blockingWorkScheduler,
+                      @Value("${bgg.api.thing-batch-size:20}") int thingBatchSize,
+                      @Value("${bgg.api.thing-concurrency:2}") int thingConcurrency,
+                      @Value("${bgg.collections.stale-after-hours:168}") long staleAfterHours,
+                      @Value("${bgg.collections.hard-expiry-hours:720}") long hardExpiryHours) {
+        if (hardExpiryHours < staleAfterHours) {
+            throw new IllegalArgumentException("bgg.collections.hard-expiry-hours must be >= stale-after-hours");
+        }
         this.bggApiClient = bggApiClient;
         this.xmlParserService = xmlParserService;
-        this.rateLimiter = rateLimiter;
         this.optimizationService = optimizationService;
         this.gameCacheService = gameCacheService;
         this.userRepository = userRepository;
         this.userCollectionRepository = userCollectionRepository;
         this.gameRepository = gameRepository;
+        this.collectionSyncService = collectionSyncService;
+        this.bggSearchService = bggSearchService;
+        this.catalogSearchService = catalogSearchService;
+        this.localFirstSearchService = localFirstSearchService;
+        this.syncJobService = syncJobService;
+        this.blockingWorkScheduler = blockingWorkScheduler;
+        this.thingBatchSize = thingBatchSize;
+        this.thingConcurrency = thingConcurrency;
+        this.collectionStaleAfter = Duration.ofHours(staleAfterHours);
+        this.collectionHardExpiry = Duration.ofHours(hardExpiryHours);
     }
 
-    @Cacheable(value = "games", key = "#searchRequest.search")
-    public List<Game> getGames(final GameSearchRequest searchRequest) {
-        if (searchRequest.getSearch() == null || searchRequest.getSearch().trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        if (!optimizationService.shouldMakeRequest("search")) {
-            return new ArrayList<>();
-        }
-
-        rateLimiter.acquire();
-
-        try {
-            String xmlResponse = bggApiClient.searchGames(searchRequest.getSearch()).block();
-            List<Game> games = xmlParserService.parseCollection(xmlResponse);
-
-            optimizationService.recordRequest("search", true);
-
-            List<Game> filteredGames = games.stream()
-                    .filter(game -> matchesCriteria(game, searchRequest))
-                    .toList();
-
-            filteredGames.forEach(gameCacheService::saveOrUpdateGameCache);
-
-            return filteredGames;
-        } catch (Exception e) {
-            optimizationService.recordRequest("search", false);
-            log.error("Error fetching games: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+    private record CollectionKey(String username, String subtype) {
     }
 
-    @Transactional
-    public List<Game> getCollection(final String username, final boolean excludeExpansions) {
-        User user = userRepository.findByUsername(username)
-                .orElseGet(() -> userRepository.save(new User(username)));
-
-        if (!user.isCacheStale()) {
-            List<UserCollection> dbCollection = userCollectionRepository.findAllByUser(user);
-            if (!dbCollection.isEmpty()) {
-                log.info("Returning {} games from local cache for user: {}", dbCollection.size(), username);
-                return dbCollection.stream()
-                        .map(UserCollection::getGame)
-                        .toList();
-            }
-        }
-
-        if (!optimizationService.shouldMakeRequest("collection")) {
+    /**
+     * Searches by name: local first with BGG as a fallback ({@code source=AUTO}, see
+     * {@link LocalFirstSearchService}), only BGG (raw hits cached per normalized query by
+     * {@link BggSearchService}) or only our own games table ({@link CatalogSearchService}).
+     * This request's filters and sorting are applied on top.
+     */
+    public List<GameSummary> getGames(final GameSearchRequest searchRequest) {
+        String query = BggSearchService.normalizeQuery(searchRequest.getSearch());
+        if (query.isEmpty()) {
             return new ArrayList<>();
         }
 
-        rateLimiter.acquire();
-
-        try {
-            log.info("Fetching collection from BGG for user: {}", username);
-            String subtype = excludeExpansions ? "boardgame" : null;
-            String xmlResponse = bggApiClient.getCollection(username, subtype).block();
-
-            List<Game> gamesFromApi = xmlParserService.parseCollection(xmlResponse);
-
-            List<Game> synchronizedGames = new ArrayList<>();
-            for (Game gameData : gamesFromApi) {
-                Game persistedGame = gameCacheService.saveOrUpdateGameCache(gameData);
-                updateUserCollectionRelation(user, persistedGame, gameData);
-
-                synchronizedGames.add(persistedGame);
+        GameSearchRequest.SearchSource source = searchRequest.getSource() != null
+                ? searchRequest.getSource() : GameSearchRequest.SearchSource.AUTO;
+        List<GameSummary> hits;
+        switch (source) {
+            case LOCAL -> hits = catalogSearchService.search(query);
+            case BGG -> {
+                try {
+                    hits = bggSearchService.search(query).stream().map(GameSummary::from).toList();
+                } catch (Exception e) {
+                    log.error("Error fetching games: {}", e.getMessage());
+                    return new ArrayList<>();
+                }
             }
-
-            user.updateSyncTimestamp();
-            userRepository.save(user);
-
-            optimizationService.recordRequest("collection", true);
-            return synchronizedGames;
-
-        } catch (Exception e) {
-            if (e.getMessage() != null && e.getMessage().contains("202")) {
-                log.info("BGG is processing collection for {}, request queued.", username);
-            } else {
-                optimizationService.recordRequest("collection", false);
-                log.info("BGG error request collection for {}, {}.", username, e.getMessage());
-            }
-            return new ArrayList<>();
+            case AUTO -> hits = localFirstSearchService.search(query);
+            default -> throw new IllegalArgumentException("Unsupported search source: " + source);
         }
-    }
-
-    private void updateUserCollectionRelation(User user, Game game, Game apiData) {
-        UserCollectionId id = new UserCollectionId(user.getId(), game.getId());
 
-        UserCollection relation = userCollectionRepository.findById(id)
-                .orElse(UserCollection.builder()
-                        .id(id)
-                        .user(user)
-                        .game(game)
-                        .build());
-
-        relation.setStatus(UserCollection.CollectionStatus.OWNED);
-        relation.setRating(apiData.getRank());
-
-        userCollectionRepository.save(relation);
-    }
-
-    @Transactional
-    public void syncGameDetails(String username) {
-        String xmlResponse = bggApiClient.getCollection(username, null).block();
-        List<Game> gamesFromCollection = xmlParserService.parseCollection(xmlResponse);
-
-        if (gamesFromCollection.isEmpty()) return;
-
-        List<Game> savedGames = gameRepository.saveAll(gamesFromCollection);
-        List<String> bggIds = savedGames.stream()
-                .map(Game::getBggId)
+        return hits.stream()
+                .filter(game -> GameCriteria.matches(game, searchRequest))
+                .sorted(GameCriteria.comparator(searchRequest))
                 .toList();
+    }
 
-        String idsParam = String.join(",", bggIds);
-
-        String thingsXml = bggApiClient.getThings(idsParam).block();
-
-        enrichAndSaveGames(xmlParserService.parseThings(thingsXml));
+    /**
+     * Stale-while-revalidate over the stored collection. A fresh copy is served as is. A copy past
+     * {@code stale-after-hours} but within {@code hard-expiry-hours} is served at once, marked stale, while one
+     * background refresh per (username, subtype) syncs it. Past the hard expiry, or with nothing stored, the
+     * caller waits for the sync; concurrent callers share one in-flight fetch-and-persist, which commits before
+     * they are released. When BGG is still preparing the collection a durable sync job is queued and
+     * {@link CollectionPendingException} carries it to the caller; when BGG cannot be reached at all, whatever
+     * is stored is served stale rather than nothing.
+     */
+    public CollectionView getCollection(final String username, final boolean excludeExpansions) {
+        String subtype = excludeExpansions ? "boardgame" : null;
+        Optional<CollectionVersion> servable = getServableVersion(username, subtype);
+        if (servable.isPresent()) {
+            List<GameSummary> stored = userCollectionRepository.findSummariesByUsername(username);
+            log.info("Returning {} {} games from local cache for user: {}",
+                    stored.size(), servable.get().stale() ? "stale" : "fresh", username);
+            return new CollectionView(stored, servable.get());
+        }
 
-        log.info("Synchronization completed for user: {}", username);
+        CollectionSyncResult result = syncCollection(username, subtype);
+        return switch (result.status()) {
+            case SYNCED -> new CollectionView(loadInOrder(result.gameIds()),
+                    subtype == null ? userRepository.findCollectionVersion(username).orElse(null) : null);
+            case QUEUED -> throw new CollectionPendingException(syncJobService.enqueue(username, subtype));
+            case SKIPPED, FAILED -> {
+                List<GameSummary> stored = userCollectionRepository.findSummariesByUsername(username);
+                log.warn("Collection sync for user: {} {}, serving {} stored games",
+                        username, result.status(), stored.size());
+                yield new CollectionView(stored, userRepository.findCollectionVersion(username)
+                        .filter(version -> version.lastSync() != null)
+                        .map(CollectionVersion::markStale)
+                        .orElse(null));
+            }
+        };
     }
 
-    private void enrichAndSaveGames(List<Game> detailedData) {
-        for (Game detailed : detailedData) {
-            gameRepository.findByBggId(detailed.getBggId()).ifPresent(existing -> {
-                existing.setComplexity(detailed.getComplexity());
-                existing.setDescription(detailed.getDescription());
-            });
+    /**
+     * Makes sure a stored collection can be served, syncing it first whenever {@link #getCollection} would,
+     * and returns its version; empty when nothing is stored. For callers that read the stored rows themselves
+     * (the streaming endpoint) instead of a sync's result.
+     */
+    public Optional<CollectionVersion> prepareStoredCollection(final String username,
+                                                               final boolean excludeExpansions) {
+        String subtype = excludeExpansions ? "boardgame" : null;
+        Optional<CollectionVersion> servable = getServableVersion(username, subtype);
+        if (servable.isPresent()) {
+            return servable;
         }
-        gameRepository.saveAll(detailedData);
+        CollectionSyncResult result = syncCollection(username, subtype);
+        if (result.status() == CollectionSyncResult.Status.QUEUED) {
+            throw new CollectionPendingException(syncJobService.enqueue(username, subtype));
+        }
+        Optional<CollectionVersion> stored = userRepository.findCollectionVersion(username)
+                .filter(version -> version.lastSync() != null);
+        return result.status() == CollectionSyncResult.Status.SYNCED
+                ? stored
+                : stored.map(CollectionVersion::markStale);
     }
 
-    private boolean matchesCriteria(final Game game, final GameSearchRequest searchRequest) {
-        return matchesPlayerCount(game, searchRequest) &&
-                matchesPlayingTime(game, searchRequest) &&
-                matchesAge(game, searchRequest) &&
-                matchesRating(game, searchRequest) &&
-                matchesYear(game, searchRequest);
+    /**
+     * Version of the stored copy {@link #getCollection} would serve right now without syncing, or empty when
+     * it would sync. Servability follows {@code lastSync} alone; a synced user without a content hash (synced
+     * before hashes existed) gets it computed here once. Reads one users row and the newest update time of the
+     * user's games, not the games themselves, so a conditional request can be answered from it; a stale copy
+     * starts its background refresh here.
+     */
+    public Optional<CollectionVersion> getServableVersion(final String username, final boolean excludeExpansions) {
+        return getServableVersion(username, excludeExpansions ? "boardgame" : null);
     }
 
-    private boolean matchesPlayerCount(final Game game, final GameSearchRequest searchRequest) {
-        if (searchRequest.getMinPlayers() == null && searchRequest.getMaxPlayers() == null) {
-            return true;
+    private Optional<CollectionVersion> getServableVersion(final String username, final String subtype) {
+        Optional<CollectionVersion> version = userRepository.findCollectionVersion(username)
+                .filter(v -> !v.isSyncOlderThan(collectionHardExpiry));
+        if (version.isPresent() && version.get().contentHash() == null) {
+            collectionSyncService.refreshContentHash(username);
+            version = userRepository.findCollectionVersion(username);
         }
-        boolean matchesMin = true;
-        if (searchRequest.getMinPlayers() != null) {
-            matchesMin = game.getMinPlayers() != null && game.getMinPlayers() <= searchRequest.getMinPlayers()
-                    && game.getMaxPlayers() != null && game.getMaxPlayers() >= searchRequest.getMinPlayers();
+        if (version.isEmpty() || !version.get().isSyncOlderThan(collectionStaleAfter)) {
+            return version;
         }
-        if (!matchesMin) return false;
+        log.info("Collection for user: {} is stale (last sync {}), refreshing in background",
+                username, version.get().lastSync());
+        refreshInBackground(username, subtype);
+        return version.map(CollectionVersion::markStale);
+    }
 
-        if (searchRequest.getMaxPlayers() != null) {
-            return game.getMinPlayers() != null && game.getMinPlayers() <= searchRequest.getMaxPlayers()
-                    && game.getMaxPlayers() != null && game.getMaxPlayers() >= searchRequest.getMaxPlayers();
+    /**
+     * Starts a background sync unless one for the same key is already running. A collection BGG is still
+     * preparing is handed to the durable sync-job queue.
+     */
+    private void refreshInBackground(final String username, final String subtype) {
+        CollectionKey key = new CollectionKey(username, subtype);
+        if (!backgroundRefreshes.add(key)) {
+            return;
+        }
+        try {
+            blockingWorkScheduler.schedule(() -> {
+                try {
+                    CollectionSyncResult result = syncCollection(username, subtype);
+                    if (result.status() == CollectionSyncResult.Status.QUEUED) {
+                        syncJobService.enqueue(username, subtype);
+                    }
+                    log.info("Background refresh for user: {} finished: {}", username, result.status());
+                } catch (Exception e) {
+                    log.warn("Background refresh for user: {} failed: {}", username, e.getMessage());
+                } finally {
+                    backgroundRefreshes.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            backgroundRefreshes.remove(key);
+            log.warn("Background refresh for user: {} rejected: {}", username, e.getMessage());
         }
-        return true;
     }
 
-    private boolean matchesPlayingTime(final Game game, final GameSearchRequest searchRequest) {
-        boolean matchesMinTime = searchRequest.getMinPlayingTime() == null ||
-                (game.getPlayingTime() != null && game.getPlayingTime() >= searchRequest.getMinPlayingTime());
-        boolean matchesMaxTime = searchRequest.getMaxPlayingTime() == null ||
-                (game.getPlayingTime() != null && game.getPlayingTime() <= searchRequest.getMaxPlayingTime());
-        return matchesMinTime && matchesMaxTime;
+    /**
+     * Single-flight entry point for collection syncs, shared by request threads and {@link SyncJobWorker}.
+     */
+    public CollectionSyncResult syncCollection(final String username, final String subtype) {
+        return collectionSyncs.execute(new CollectionKey(username, subtype),
+                () -> collectionSyncService.syncCollection(username, subtype));
     }
 
-    private boolean matchesAge(final Game game, final GameSearchRequest searchRequest) {
-        return searchRequest.getMinAge() == null || (game.getMinAge() != null && game.getMinAge() >= searchRequest.getMinAge());
+    private List<GameSummary> loadInOrder(final List<Long> gameIds) {
+        if (gameIds.isEmpty()) return new ArrayList<>();
+        Map<Long, GameSummary> byId = new HashMap<>();
+        for (List<Long> chunk : Lists.partition(gameIds, LOAD_CHUNK_SIZE)) {
+            gameRepository.findSummariesByIdIn(chunk).forEach(game -> byId.put(game.getId(), game));
+        }
+        return gameIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    private boolean matchesRating(final Game game, final GameSearchRequest searchRequest) {
-        return searchRequest.getMinRating() == null ||
-                (game.getBggRating() != null && game.getBggRating().doubleValue() >= searchRequest.getMinRating());
+    /**
+     * Enriches the user's stored collection with /thing details. Ids are split into BGG-sized chunks;
+     * up to {@code thingConcurrency} chunks are fetched and parsed (streamed) while earlier chunks are
+     * bulk-written. Chunks waiting for a {@link BggRateLimiter} permit hold no thread.
+     * Each chunk is written in its own transaction, so a failed chunk does not roll back the others.
+     */
+    public void syncGameDetails(String username) {
+        List<String> bggIds = userCollectionRepository.findBggIdsByUsernameAndStatus(
+                username, UserCollection.CollectionStatus.OWNED);
+        if (bggIds.isEmpty()) return;
+
+        long start = System.nanoTime();
+        Integer enriched = Flux.fromIterable(Lists.partition(bggIds, thingBatchSize))
+                .flatMap(this::fetchThingChunk, thingConcurrency)
+                .concatMap(games -> Mono.fromCallable(() -> gameCacheService.saveOrUpdateAll(games).size())
+                        .subscribeOn(blockingWorkScheduler))
+                .reduce(0, Integer::sum)
+                .block();
+
+        log.info("Synchronization completed for user: {} ({} of {} games enriched in {} ms)",
+                username, enriched, bggIds.size(), (System.nanoTime() - start) / 1_000_000);
     }
 
-    private boolean matchesYear(final Game game, final GameSearchRequest searchRequest) {
-        boolean matchesYearFrom = searchRequest.getYearFrom() == null ||
-                (game.getYearPublished() != null && game.getYearPublished() >= searchRequest.getYearFrom());
-        boolean matchesYearTo = searchRequest.getYearTo() == null ||
-                (game.getYearPublished() != null && game.getYearPublished() <= searchRequest.getYearTo());
-        return matchesYearFrom && matchesYearTo;
+    private Mono<List<Game>> fetchThingChunk(List<String> ids) {
+        Optional<BggApiOptimizationService.Admission> admission = optimizationService.admit("thing");
+        if (admission.isEmpty()) {
+            return Mono.empty();
+        }
+        return xmlParserService.parseThings(bggApiClient.streamThings(String.join(",", ids)))
+                .collectList()
+                .doOnSuccess(games -> optimizationService.recordRequest(admission.get(), true))
+                .onErrorResume(e -> {
+                    optimizationService.recordRequest(admission.get(), false);
+                    log.warn("Skipping /thing chunk of {} ids: {}", ids.size(), e.getMessage());
+                    return Mono.empty();
+                });
     }
-}
\ No newline at end of file
+}
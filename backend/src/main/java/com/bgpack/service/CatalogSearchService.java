@@ -0,0 +1,55 @@
+package com.bgpack.service;
+
+import com.bgpack.dto.GameSummary;
+import com.bgpack.repository.GameRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Name search over our own {@code games} table: substring and typo-tolerant (pg_trgm) matches, ranked by
+ * relevance. Costs no BGG quota and answers from the trigram index.
+ */
+@Slf4j
+@Service
+public class CatalogSearchService {
+
+    private final GameRepository gameRepository;
+    private final int limit;
+
+    public CatalogSearchService(GameRepository gameRepository,
+                                @Value("${bgg.search.local-limit:100}") int limit) {
+        this.gameRepository = gameRepository;
+        this.limit = limit;
+    }
+
+    /**
+     * @param normalizedQuery a query from {@link BggSearchService#normalizeQuery}
+     * @return up to {@code bgg.search.local-limit} games, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<GameSummary> search(final String normalizedQuery) {
+        long start = System.nanoTime();
+        String escaped = escapeLike(normalizedQuery);
+        List<Long> ids = gameRepository.searchIdsByName(normalizedQuery, "%" + escaped + "%", escaped + "%", limit);
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, GameSummary> byId = new HashMap<>();
+        gameRepository.findSummariesByIdIn(ids).forEach(game -> byId.put(game.getId(), game));
+        List<GameSummary> games = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        log.debug("Local search '{}' matched {} games in {} ms",
+                normalizedQuery, games.size(), (System.nanoTime() - start) / 1_000_000);
+        return games;
+    }
+
+    /** Postgres' default LIKE escape character is the backslash. */
+    private static String escapeLike(final String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
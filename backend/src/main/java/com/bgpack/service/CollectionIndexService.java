@@ -0,0 +1,158 @@
+package com.bgpack.service;
+
+import com.bgpack.dto.GameSearchRequest;
+import com.bgpack.dto.GameSummary;
+import com.bgpack.dto.GroupGameDto;
+import com.bgpack.entity.UserCollection;
+import com.bgpack.repository.GameRepository;
+import com.bgpack.repository.UserCollectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one compressed bitmap of owned game ids per user and answers
+ * "which games do these players own" with bitmap algebra instead of GROUP BY queries.
+ * Game ids come from a BIGSERIAL sequence, so they already are dense ordinals.
+ * Bitmaps are immutable once published; a sync replaces them by invalidation.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CollectionIndexService {
+
+    public enum OwnershipMode { ALL, ANY, AT_LEAST }
+
+    private final UserCollectionRepository userCollectionRepository;
+    private final GameRepository gameRepository;
+    private final GameColumnStore columnStore;
+
+    private final ConcurrentHashMap<String, RoaringBitmap> ownedByUsername = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Games owned by all, any, or at least {@code minOwners} of the given users, filtered by the request
+     * criteria and ranked by owner count, then by the request's sort order.
+     * Users that were never synced own nothing.
+     */
+    public List<GroupGameDto> findGroupGames(final List<String> usernames, final OwnershipMode mode,
+                                             final Integer minOwners, final GameSearchRequest criteria) {
+        List<String> users = new ArrayList<>(new LinkedHashSet<>(usernames));
+        if (users.isEmpty()) {
+            throw new IllegalArgumentException("At least one username is required");
+        }
+        int threshold = switch (mode) {
+            case ALL -> users.size();
+            case ANY -> 1;
+            case AT_LEAST -> {
+                if (minOwners == null || minOwners < 1 || minOwners > users.size()) {
+                    throw new IllegalArgumentException("minOwners must be between 1 and " + users.size());
+                }
+                yield minOwners;
+            }
+        };
+
+        long start = System.nanoTime();
+        RoaringBitmap[] owned = users.stream().map(this::ownedGames).toArray(RoaringBitmap[]::new);
+        RoaringBitmap matched = ownedByAtLeast(owned, threshold);
+        log.debug("Ownership query over {} users matched {} games in {} µs",
+                users.size(), matched.getCardinality(), (System.nanoTime() - start) / 1_000);
+
+        boolean filteredInMemory = columnStore.isReady();
+        if (filteredInMemory) {
+            matched = columnStore.filter(GameColumnQuery.of(criteria), matched);
+        }
+        if (matched.isEmpty()) return new ArrayList<>();
+
+        List<Long> gameIds = new ArrayList<>(matched.getCardinality());
+        matched.forEach((int id) -> gameIds.add((long) id));
+
+        return gameRepository.findSummariesByIdIn(gameIds).stream()
+                .filter(game -> filteredInMemory || GameCriteria.matches(game, criteria))
+                .map(game -> toDto(game, users, owned))
+                .sorted(Comparator.comparingInt(GroupGameDto::getOwnerCount).reversed()
+                        .thenComparing(GroupGameDto::getGame, GameCriteria.comparator(criteria)))
+                .toList();
+    }
+
+    /**
+     * Owned game ids of a user, loaded from the database on first use.
+     */
+    public RoaringBitmap ownedGames(final String username) {
+        RoaringBitmap cached = ownedByUsername.get(username);
+        if (cached != null) return cached;
+
+        long generation = invalidations.get();
+        RoaringBitmap loaded = new RoaringBitmap();
+        for (Long gameId : userCollectionRepository.findGameIdsByUsernameAndStatus(
+                username, UserCollection.CollectionStatus.OWNED)) {
+            loaded.add(Math.toIntExact(gameId));
+        }
+        loaded.runOptimize();
+
+        // The generation check runs under the map's lock for this key, so an invalidate() either bumped the
+        // generation before it (nothing is published) or removes what we publish right after it.
+        // A sync that committed while we were reading still gets the result served, just not cached.
+        RoaringBitmap published = ownedByUsername.compute(username, (key, current) -> {
+            if (current != null) return current;
+            return invalidations.get() == generation ? loaded : null;
+        });
+        return published != null ? published : loaded;
+    }
+
+    public void invalidate(final String username) {
+        invalidations.incrementAndGet();
+        ownedByUsername.remove(username);
+    }
+
+    @TransactionalEventListener
+    public void onCollectionSynced(final CollectionSyncedEvent event) {
+        invalidate(event.username());
+    }
+
+    /**
+     * Games present in at least {@code k} of the bitmaps. {@code atLeast[j]} holds games seen in at least
+     * j+1 of the bitmaps processed so far, so the cost is O(n·k) bitmap operations.
+     */
+    static RoaringBitmap ownedByAtLeast(final RoaringBitmap[] bitmaps, final int k) {
+        if (k <= 1) return FastAggregation.or(bitmaps);
+        if (k == bitmaps.length) return FastAggregation.and(bitmaps);
+
+        RoaringBitmap[] atLeast = new RoaringBitmap[k];
+        for (int j = 0; j < k; j++) {
+            atLeast[j] = new RoaringBitmap();
+        }
+        for (int i = 0; i < bitmaps.length; i++) {
+            for (int j = Math.min(i, k - 1); j >= 1; j--) {
+                atLeast[j].or(RoaringBitmap.and(atLeast[j - 1], bitmaps[i]));
+            }
+            atLeast[0].or(bitmaps[i]);
+        }
+        return atLeast[k - 1];
+    }
+
+    private GroupGameDto toDto(final GameSummary game, final List<String> users, final RoaringBitmap[] owned) {
+        int ordinal = Math.toIntExact(game.getId());
+        List<String> owners = new ArrayList<>();
+        for (int i = 0; i < owned.length; i++) {
+            if (owned[i].contains(ordinal)) {
+                owners.add(users.get(i));
+            }
+        }
+        return GroupGameDto.builder()
+                .game(game)
+                .ownerCount(owners.size())
+                .owners(owners)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.bgpack.service;
+
+import com.bgpack.dto.GameSummary;
+import com.bgpack.repository.UserCollectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Walks a user's stored collection through a database cursor, one game at a time. Rows are read as
+ * {@link GameSummary} projections, which the persistence context does not track, so the heap stays flat
+ * however big the collection is.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollectionStreamService {
+
+    private final UserCollectionRepository userCollectionRepository;
+
+    @FunctionalInterface
+    public interface GameSink {
+        void write(GameSummary game) throws IOException;
+    }
+
+    /**
+     * @return number of games written
+     */
+    @Transactional(readOnly = true)
+    public int forEachGame(final String username, final GameSink sink) {
+        int written = 0;
+        try (Stream<GameSummary> games = userCollectionRepository.streamSummariesByUsername(username)) {
+            Iterator<GameSummary> iterator = games.iterator();
+            while (iterator.hasNext()) {
+                sink.write(iterator.next());
+                written++;
+            }
+        } catch (IOException e) {
+            // usually the client went away; the cursor is closed either way
+            throw new UncheckedIOException(e);
+        }
+        log.debug("Streamed {} games for user: {}", written, username);
+        return written;
+    }
+}
@@ -0,0 +1,28 @@
+package com.bgpack.service;
+
+import java.util.List;
+
+/**
+ * Outcome of one collection sync attempt; {@code gameIds} is only populated when {@link Status#SYNCED}.
+ */
+public record CollectionSyncResult(Status status, List<Long> gameIds) {
+
+    public enum Status {
+        /** Fetched and persisted. */
+        SYNCED,
+        /** BGG is still preparing the collection (202 after client retries); try again later. */
+        QUEUED,
+        /** Not attempted: circuit breaker open or request quota exhausted. */
+        SKIPPED,
+        /** The request or the persistence failed. */
+        FAILED
+    }
+
+    public static CollectionSyncResult synced(final List<Long> gameIds) {
+        return new CollectionSyncResult(Status.SYNCED, gameIds);
+    }
+
+    public static CollectionSyncResult of(final Status status) {
+        return new CollectionSyncResult(status, List.of());
+    }
+}
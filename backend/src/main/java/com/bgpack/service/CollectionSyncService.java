@@ -0,0 +1,198 @@
+package com.bgpack.service;
+
+import com.bgpack.client.BggApiClient;
+import com.bgpack.entity.Game;
+import com.bgpack.entity.User;
+import com.bgpack.entity.UserCollection;
+import com.bgpack.exception.BggExceptions.QueuedException;
+import com.bgpack.repository.UserCollectionRepository;
+import com.bgpack.repository.UserRepository;
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fetches a user's collection from BGG and persists it (games, ownership rows, sync timestamp)
+ * in a single transaction. With {@code bgg.collections.incremental} on, a user with a recent full sync only
+ * fetches items modified since the last sync; a full fetch still runs every
+ * {@code full-sync-interval-hours} so removals are reconciled.
+ */
+@Slf4j
+@Service
+public class CollectionSyncService {
+
+    private static final int SYNC_BATCH_SIZE = 250;
+    // modifiedsince has day precision and BGG's clock is not ours; re-fetching a day's overlap is cheap
+    private static final Duration MODIFIED_SINCE_OVERLAP = Duration.ofDays(1);
+
+    private final BggApiClient bggApiClient;
+    private final BggXmlParserService xmlParserService;
+    private final BggApiOptimizationService optimizationService;
+    private final GameCacheService gameCacheService;
+    private final UserRepository userRepository;
+    private final UserCollectionRepository userCollectionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean streamingEnabled;
+    private final boolean incrementalEnabled;
+    private final Duration fullSyncInterval;
+
+    public CollectionSyncService(BggApiClient bggApiClient,
+                                 BggXmlParserService xmlParserService,
+                                 BggApiOptimizationService optimizationService,
+                                 GameCacheService gameCacheService,
+                                 UserRepository userRepository,
+                                 UserCollectionRepository userCollectionRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${bgg.api.streaming:true}") boolean streamingEnabled,
+                                 @Value("${bgg.collections.incremental:true}") boolean incrementalEnabled,
+                                 @Value("${bgg.collections.full-sync-interval-hours:336}") long fullSyncIntervalHours) {
+        this.bggApiClient = bggApiClient;
+        this.xmlParserService = xmlParserService;
+        this.optimizationService = optimizationService;
+        this.gameCacheService = gameCacheService;
+        this.userRepository = userRepository;
+        this.userCollectionRepository = userCollectionRepository;
+        this.eventPublisher = eventPublisher;
+        this.streamingEnabled = streamingEnabled;
+        this.incrementalEnabled = incrementalEnabled;
+        this.fullSyncInterval = Duration.ofHours(fullSyncIntervalHours);
+    }
+
+    /**
+     * Syncs the collection; on success the result carries the ids of the user's games, in BGG order after
+     * a full fetch and in stored order after an incremental one.
+     */
+    @Transactional
+    public CollectionSyncResult syncCollection(final String username, final String subtype) {
+        User user = userRepository.findByUsername(username)
+                .orElseGet(() -> userRepository.save(new User(username)));
+
+        Optional<BggApiOptimizationService.Admission> admission = optimizationService.admit("collection");
+        if (admission.isEmpty()) {
+            return CollectionSyncResult.of(CollectionSyncResult.Status.SKIPPED);
+        }
+
+        LocalDate modifiedSince = incrementalSince(user);
+        boolean full = modifiedSince == null;
+        try {
+            log.info("Fetching collection from BGG for user: {} ({})",
+                    username, full ? "full" : "modified since " + modifiedSince);
+
+            Map<Long, Integer> ratingsByGameId = new LinkedHashMap<>();
+            for (List<Game> batch : fetchCollectionGames(username, subtype, modifiedSince)) {
+                List<Game> persistedGames = gameCacheService.saveOrUpdateAll(batch);
+                for (int i = 0; i < persistedGames.size(); i++) {
+                    ratingsByGameId.put(persistedGames.get(i).getId(), batch.get(i).getRank());
+                }
+            }
+
+            boolean fullCollection = full && subtype == null;
+            reconcileUserCollection(user, ratingsByGameId, fullCollection);
+
+            user.updateCollectionHash(userCollectionRepository.contentHash(user.getId()));
+            if (fullCollection) {
+                user.updateFullSyncTimestamp();
+            } else {
+                user.updateSyncTimestamp();
+            }
+            userRepository.save(user);
+
+            optimizationService.recordRequest(admission.get(), true);
+            return CollectionSyncResult.synced(full
+                    ? new ArrayList<>(ratingsByGameId.keySet())
+                    : userCollectionRepository.findGameIdsByUsernameAndStatus(
+                            username, UserCollection.CollectionStatus.OWNED));
+
+        } catch (Exception e) {
+            if (isQueued(e)) {
+                log.info("BGG is processing collection for {}, request queued.", username);
+                return CollectionSyncResult.of(CollectionSyncResult.Status.QUEUED);
+            }
+            optimizationService.recordRequest(admission.get(), false);
+            log.info("BGG error request collection for {}, {}.", username, e.getMessage());
+            return CollectionSyncResult.of(CollectionSyncResult.Status.FAILED);
+        }
+    }
+
+    /**
+     * Recomputes the stored collection's content hash (part of the collection endpoint's ETag) when it is missing.
+     */
+    @Transactional
+    public void refreshContentHash(final String username) {
+        userRepository.findByUsername(username).ifPresent(user -> {
+            user.updateCollectionHash(userCollectionRepository.contentHash(user.getId()));
+            userRepository.save(user);
+        });
+    }
+
+    /**
+     * The {@code modifiedsince} date for an incremental fetch, or {@code null} when a full fetch is due:
+     * incremental mode off, never synced, or no full sync within {@code full-sync-interval-hours}.
+     */
+    private LocalDate incrementalSince(final User user) {
+        if (!incrementalEnabled || user.getLastSync() == null || user.getLastFullSync() == null
+                || user.getLastFullSync().isBefore(ZonedDateTime.now().minus(fullSyncInterval))) {
+            return null;
+        }
+        return user.getLastSync().minus(MODIFIED_SINCE_OVERLAP)
+                .withZoneSameInstant(ZoneOffset.UTC)
+                .toLocalDate();
+    }
+
+    /**
+     * A 202 that outlived the client's retries surfaces wrapped in Reactor's retry-exhausted exception.
+     */
+    private static boolean isQueued(final Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof QueuedException) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Yields parsed games in batches of {@link #SYNC_BATCH_SIZE}. In streaming mode a batch is persisted
+     * while the rest of the response is still downloading; the iterable blocks the calling (transactional)
+     * thread only until the next batch is parsed.
+     */
+    private Iterable<List<Game>> fetchCollectionGames(final String username, final String subtype,
+                                                      final LocalDate modifiedSince) {
+        if (streamingEnabled) {
+            return xmlParserService.parseCollection(bggApiClient.streamCollection(username, subtype, modifiedSince))
+                    .buffer(SYNC_BATCH_SIZE)
+                    .toIterable();
+        }
+        String xmlResponse = bggApiClient.getCollection(username, subtype, modifiedSince).block();
+        return Lists.partition(xmlParserService.parseCollection(xmlResponse), SYNC_BATCH_SIZE);
+    }
+
+    /**
+     * Diffs the fetched collection against the stored OWNED rows: one statement inserts or updates,
+     * one deletes games the user no longer owns. Removals are only applied after a full (unfiltered, not
+     * incremental) fetch that returned something, so a filtered sync or an empty/failed parse never wipes rows.
+     */
+    private void reconcileUserCollection(final User user, final Map<Long, Integer> ratingsByGameId,
+                                         final boolean fullCollection) {
+        int upserted = userCollectionRepository.upsertOwned(user.getId(), ratingsByGameId);
+        int removed = 0;
+        if (fullCollection && !ratingsByGameId.isEmpty()) {
+            removed = userCollectionRepository.deleteOwnedExcept(user.getId(), ratingsByGameId.keySet());
+        }
+        log.info("Reconciled collection for user {}: {} games, {} rows inserted/updated, {} removed",
+                user.getUsername(), ratingsByGameId.size(), upserted, removed);
+        eventPublisher.publishEvent(new CollectionSyncedEvent(user.getId(), user.getUsername()));
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.bgpack.service;
+
+/**
+ * Published inside the sync transaction once a user's collection rows have been reconciled.
+ */
+public record CollectionSyncedEvent(Long userId, String username) {
+}
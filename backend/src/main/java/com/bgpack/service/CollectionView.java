@@ -0,0 +1,17 @@
+package com.bgpack.service;
+
+import com.bgpack.dto.CollectionVersion;
+import com.bgpack.dto.GameSummary;
+
+import java.util.List;
+
+/**
+ * A user's collection as served to the caller. {@code version} is {@code null} when the served games do not
+ * match a stored version (a subtype-filtered sync, or nothing stored).
+ */
+public record CollectionView(List<GameSummary> games, CollectionVersion version) {
+
+    public boolean stale() {
+        return version != null && version.stale();
+    }
+}
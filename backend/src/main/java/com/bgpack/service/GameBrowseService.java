@@ -0,0 +1,127 @@
+package com.bgpack.service;
+
+import com.bgpack.dto.GamePage;
+import com.bgpack.dto.GameSummary;
+import com.bgpack.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset-paginated browsing of stored games. A page is fetched with one query for {@code size + 1} rows
+ * starting right after the cursor, so every page costs the same as the first and no count query runs.
+ * Cursors are opaque to clients: the last row's sort value and id, base64url-encoded.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class GameBrowseService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final GameRepository gameRepository;
+
+    /** Ranked games by BGG rank, best first. */
+    public GamePage topRanked(final String after, final int size) {
+        Limit limit = limit(size);
+        Cursor cursor = Cursor.decode(after);
+        List<GameSummary> rows = cursor == null
+                ? gameRepository.findTopRanked(limit)
+                : gameRepository.findTopRankedAfter(cursor.intKey(), cursor.id(), limit);
+        return page(rows, size, game -> String.valueOf(game.getRank()));
+    }
+
+    /** Rated games by BGG rating, highest first. */
+    public GamePage topRated(final String after, final int size) {
+        Limit limit = limit(size);
+        Cursor cursor = Cursor.decode(after);
+        List<GameSummary> rows = cursor == null
+                ? gameRepository.findTopRated(limit)
+                : gameRepository.findTopRatedAfter(cursor.decimalKey(), cursor.id(), limit);
+        return page(rows, size, game -> game.getBggRating().toPlainString());
+    }
+
+    /** Games whose name contains {@code name}, case-insensitively, in name order. */
+    public GamePage byName(final String name, final String after, final int size) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        Limit limit = limit(size);
+        Cursor cursor = Cursor.decode(after);
+        List<GameSummary> rows = cursor == null
+                ? gameRepository.findByNameContaining(name.trim(), limit)
+                : gameRepository.findByNameContainingAfter(name.trim(), cursor.key(), cursor.id(), limit);
+        return page(rows, size, GameSummary::getName);
+    }
+
+    /** Games playable by {@code minPlayers}..{@code maxPlayers}, in id order. */
+    public GamePage byPlayers(final Integer minPlayers, final Integer maxPlayers, final String after, final int size) {
+        Cursor cursor = Cursor.decode(after);
+        List<GameSummary> rows = gameRepository.findByPlayersRangeAfter(
+                minPlayers, maxPlayers, cursor == null ? 0L : cursor.id(), limit(size));
+        return page(rows, size, game -> "");
+    }
+
+    private static Limit limit(final int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // one extra row tells whether there is a next page
+        return Limit.of(size + 1);
+    }
+
+    private static GamePage page(final List<GameSummary> rows, final int size,
+                                 final Function<GameSummary, String> sortKey) {
+        if (rows.size() <= size) {
+            return new GamePage(rows, null);
+        }
+        List<GameSummary> items = rows.subList(0, size);
+        GameSummary last = items.get(size - 1);
+        return new GamePage(items, new Cursor(sortKey.apply(last), last.getId()).encode());
+    }
+
+    record Cursor(String key, long id) {
+
+        private static final char SEPARATOR = '\n';
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(final String value) {
+            if (value == null || value.isBlank()) return null;
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int split = decoded.lastIndexOf(SEPARATOR);
+                return new Cursor(decoded.substring(0, split), Long.parseLong(decoded.substring(split + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+        }
+
+        int intKey() {
+            try {
+                return Integer.parseInt(key);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor for this listing");
+            }
+        }
+
+        BigDecimal decimalKey() {
+            try {
+                return new BigDecimal(key);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor for this listing");
+            }
+        }
+    }
+}
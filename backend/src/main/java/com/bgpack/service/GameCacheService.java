@@ -2,40 +2,101 @@ package com.bgpack.service;
 
 import com.bgpack.entity.Game;
 import com.bgpack.repository.GameRepository;
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GameCacheService {
 
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
     private final GameRepository gameRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final GameHitCounter hitCounter;
 
-    @Transactional
+    /**
+     * Read-only lookup; the hit is counted in memory and written back in batches by {@link GameHitCounter}.
+     */
+    @Transactional(readOnly = true)
     public Optional<Game> getCachedGame(String bggId) {
-        return gameRepository.findByBggId(bggId).map(game -> {
-            game.incrementCacheHits();
-            return gameRepository.save(game);
-        });
+        Optional<Game> game = gameRepository.findByBggId(bggId);
+        game.ifPresent(hitCounter::record);
+        return game;
     }
 
     @Transactional
     public Game saveOrUpdateGameCache(Game gameData) {
         Optional<Game> existingOpt = gameRepository.findByBggId(gameData.getBggId());
 
+        Game saved;
         if (existingOpt.isPresent()) {
             Game existing = existingOpt.get();
             updateGameData(existing, gameData);
             existing.updateCacheTimestamp();
-            return gameRepository.save(existing);
+            saved = gameRepository.save(existing);
         } else {
-            return gameRepository.save(gameData);
+            saved = gameRepository.save(gameData);
+        }
+        eventPublisher.publishEvent(new GamesChangedEvent(List.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Batch counterpart of {@link #saveOrUpdateGameCache(Game)}: one native upsert per JDBC batch,
+     * then one {@code findByBggIdIn} per chunk to return managed entities with ids.
+     * The result is index-aligned with the input; duplicate bggIds resolve to the same entity.
+     */
+    @Transactional
+    public List<Game> saveOrUpdateAll(List<Game> games) {
+        if (games.isEmpty()) return new ArrayList<>();
+
+        Map<String, Game> uniqueByBggId = new LinkedHashMap<>();
+        games.forEach(game -> uniqueByBggId.put(game.getBggId(), game));
+        long start = System.nanoTime();
+        gameRepository.upsertAll(new ArrayList<>(uniqueByBggId.values()));
+        long upserted = System.nanoTime();
+
+        Map<String, Game> persisted = new HashMap<>();
+        for (List<String> chunk : Lists.partition(new ArrayList<>(uniqueByBggId.keySet()), LOOKUP_CHUNK_SIZE)) {
+            gameRepository.findByBggIdIn(chunk).forEach(game -> persisted.put(game.getBggId(), game));
         }
+        recordBatch(uniqueByBggId.size(), upserted - start, System.nanoTime() - upserted);
+
+        eventPublisher.publishEvent(new GamesChangedEvent(new ArrayList<>(persisted.values())));
+
+        return games.stream()
+                .map(game -> persisted.get(game.getBggId()))
+                .toList();
+    }
+
+    /**
+     * {@code bgg.cache.upsert} times the upsert statement batch and the id lookup separately (tag {@code stage});
+     * {@code bgg.cache.upsert.size} is the number of distinct games per batch.
+     */
+    private void recordBatch(final int size, final long upsertNanos, final long lookupNanos) {
+        Timer.builder("bgg.cache.upsert").tag("stage", "upsert").register(meterRegistry)
+                .record(upsertNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("bgg.cache.upsert").tag("stage", "lookup").register(meterRegistry)
+                .record(lookupNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("bgg.cache.upsert.size").register(meterRegistry).record(size);
     }
 
     private void updateGameData(Game existing, Game newData) {
@@ -54,6 +115,7 @@ public class GameCacheService {
         existing.setComplexity(newData.getComplexity());
         existing.setSuggestedNumPlayers(newData.getSuggestedNumPlayers());
         existing.setRecommendedPlayers(newData.getRecommendedPlayers());
+        existing.setBestPlayersMask(newData.getBestPlayersMask());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.bgpack.service;
+
+import com.bgpack.dto.GameSearchRequest;
+
+import java.util.Arrays;
+
+/**
+ * {@link GameSearchRequest} filters compiled into inclusive per-column bounds for {@link GameColumnStore}.
+ * A constrained column also rejects games with no value, matching {@link GameCriteria#matches}.
+ */
+public final class GameColumnQuery {
+
+    static final int MIN_PLAYERS = 0;
+    static final int MAX_PLAYERS = 1;
+    static final int PLAYING_TIME = 2;
+    static final int MIN_AGE = 3;
+    static final int YEAR = 4;
+    static final int RATING = 5;
+    static final int COLUMN_COUNT = 6;
+
+    final int[] lo = new int[COLUMN_COUNT];
+    final int[] hi = new int[COLUMN_COUNT];
+    final boolean[] active = new boolean[COLUMN_COUNT];
+    /** Player count that must be among the game's best counts, i.e. the mask bit to test; 0 when unconstrained. */
+    int bestWith;
+
+    private GameColumnQuery() {
+        Arrays.fill(lo, Integer.MIN_VALUE);
+        Arrays.fill(hi, Integer.MAX_VALUE);
+    }
+
+    public static GameColumnQuery of(final GameSearchRequest request) {
+        GameColumnQuery query = new GameColumnQuery();
+        // a requested player count must fall inside the game's [minPlayers, maxPlayers]
+        for (Integer players : new Integer[]{request.getMinPlayers(), request.getMaxPlayers()}) {
+            if (players != null) {
+                query.atMost(MIN_PLAYERS, players);
+                query.atLeast(MAX_PLAYERS, players);
+            }
+        }
+        if (request.getMinPlayingTime() != null) query.atLeast(PLAYING_TIME, request.getMinPlayingTime());
+        if (request.getMaxPlayingTime() != null) query.atMost(PLAYING_TIME, request.getMaxPlayingTime());
+        if (request.getMinAge() != null) query.atLeast(MIN_AGE, request.getMinAge());
+        if (request.getYearFrom() != null) query.atLeast(YEAR, request.getYearFrom());
+        if (request.getYearTo() != null) query.atMost(YEAR, request.getYearTo());
+        if (request.getMinRating() != null) {
+            query.atLeast(RATING, (int) Math.ceil(request.getMinRating() * GameColumnStore.FIXED_POINT_SCALE - 1e-9));
+        }
+        if (request.getBestWithPlayers() != null) query.bestWith = request.getBestWithPlayers();
+        return query;
+    }
+
+    boolean isEmpty() {
+        if (bestWith != 0) return false;
+        for (boolean constrained : active) {
+            if (constrained) return false;
+        }
+        return true;
+    }
+
+    private void atLeast(final int column, final int value) {
+        active[column] = true;
+        lo[column] = Math.max(lo[column], value);
+    }
+
+    private void atMost(final int column, final int value) {
+        active[column] = true;
+        hi[column] = Math.min(hi[column], value);
+    }
+}
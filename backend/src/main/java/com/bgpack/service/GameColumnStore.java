@@ -0,0 +1,363 @@
+package com.bgpack.service;
+
+import com.bgpack.entity.Game;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Columnar in-memory snapshot of the filterable {@code games} columns: one {@code short[]} per column,
+ * rating stored as fixed-point hundredths, plus the poll's best-player-count bits as an {@code int[]}.
+ * Large candidate sets are filtered by branch-free passes over the arrays (a shape C2 auto-vectorizes), so a
+ * query over tens of thousands of games allocates one byte mask and never touches an entity or a boxed value;
+ * small ones are checked row by row.
+ * <p>
+ * Readers use the current immutable {@link Snapshot} without locking; writers copy it, apply changes
+ * and publish the new one. The store fills on startup and follows {@link GameCacheService} writes.
+ */
+@Service
+@Slf4j
+public class GameColumnStore {
+
+    static final int FIXED_POINT_SCALE = 100;
+    // Candidate sets above 1/FULL_SCAN_RATIO of the store are cheaper to scan column by column than to look up
+    private static final int FULL_SCAN_RATIO = 8;
+    static final short MISSING = Short.MIN_VALUE;
+
+    private static final String LOAD_SQL = """
+            SELECT id, min_players, max_players, playing_time, min_age, year_published, bgg_rating, best_players_mask
+            FROM games
+            ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    // Serializes writers; a lock rather than synchronized because reload() holds it across JDBC I/O,
+    // which would pin the carrier thread in virtual-thread mode
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready;
+
+    public GameColumnStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * False until the initial load finished; callers then fall back to filtering entities.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            SnapshotBuilder builder = new SnapshotBuilder(Snapshot.EMPTY, 1024);
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                builder.set(rs.getLong("id"),
+                        shortOf(rs, "min_players"), shortOf(rs, "max_players"), shortOf(rs, "playing_time"),
+                        shortOf(rs, "min_age"), shortOf(rs, "year_published"),
+                        fixedPoint(rs.getBigDecimal("bgg_rating")), rs.getInt("best_players_mask"));
+            });
+            snapshot = builder.build();
+            ready = true;
+            log.info("Game column store loaded {} games in {} ms", snapshot.size, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Failed to load game column store, falling back to entity filtering: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Collects the games changed within a transaction and applies them once, after it commits: a collection
+     * sync publishes an event per batch, and each apply copies the snapshot. Outside a transaction the games
+     * are applied at once.
+     */
+    @EventListener
+    public void onGamesChanged(final GamesChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event.games());
+            return;
+        }
+        PendingGames pending = (PendingGames) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingGames created = new PendingGames();
+            pending = created;
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(GameColumnStore.this);
+                    if (status == STATUS_COMMITTED) {
+                        apply(new ArrayList<>(created.byId.values()));
+                    }
+                }
+            });
+        }
+        for (Game game : event.games()) {
+            if (game != null && game.getId() != null) pending.byId.put(game.getId(), game);
+        }
+    }
+
+    /** Games changed by the current transaction, latest write per id. */
+    private static final class PendingGames {
+        final Map<Long, Game> byId = new LinkedHashMap<>();
+    }
+
+    /**
+     * Copies the current snapshot, overwrites or appends the given games and publishes the result.
+     */
+    public void apply(final List<Game> games) {
+        if (games.isEmpty()) return;
+        writeLock.lock();
+        try {
+            applyLocked(games);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void applyLocked(final List<Game> games) {
+        SnapshotBuilder builder = new SnapshotBuilder(snapshot, snapshot.size + games.size());
+        for (Game game : games) {
+            if (game == null || game.getId() == null) continue;
+            builder.set(game.getId(),
+                    shortOf(game.getMinPlayers()), shortOf(game.getMaxPlayers()), shortOf(game.getPlayingTime()),
+                    shortOf(game.getMinAge()), shortOf(game.getYearPublished()),
+                    fixedPoint(game.getBggRating()), game.getBestPlayersMask() != null ? game.getBestPlayersMask() : 0);
+        }
+        snapshot = builder.build();
+    }
+
+    /**
+     * The {@code candidates} that match the query. A small candidate set is checked row by row; a large one
+     * (an ANY query over several collections, say) is answered by one column scan intersected with it.
+     */
+    public RoaringBitmap filter(final GameColumnQuery query, final RoaringBitmap candidates) {
+        if (query.isEmpty()) return candidates;
+        Snapshot s = snapshot;
+        if ((long) candidates.getCardinality() * FULL_SCAN_RATIO < s.size) {
+            return filterCandidates(s, query, candidates);
+        }
+        RoaringBitmap result = scanAll(s, query);
+        result.and(candidates);
+        return result;
+    }
+
+    private static RoaringBitmap scanAll(final Snapshot s, final GameColumnQuery query) {
+        byte[] keep = new byte[s.size];
+        Arrays.fill(keep, (byte) 1);
+        if (query.active[GameColumnQuery.MIN_PLAYERS]) scan(keep, s.minPlayers, s.size, query, GameColumnQuery.MIN_PLAYERS);
+        if (query.active[GameColumnQuery.MAX_PLAYERS]) scan(keep, s.maxPlayers, s.size, query, GameColumnQuery.MAX_PLAYERS);
+        if (query.active[GameColumnQuery.PLAYING_TIME]) scan(keep, s.playingTime, s.size, query, GameColumnQuery.PLAYING_TIME);
+        if (query.active[GameColumnQuery.MIN_AGE]) scan(keep, s.minAge, s.size, query, GameColumnQuery.MIN_AGE);
+        if (query.active[GameColumnQuery.YEAR]) scan(keep, s.year, s.size, query, GameColumnQuery.YEAR);
+        if (query.active[GameColumnQuery.RATING]) scan(keep, s.rating, s.size, query, GameColumnQuery.RATING);
+        if (query.bestWith > 0) scanBit(keep, s.bestPlayers, s.size, query.bestWith);
+
+        RoaringBitmap result = new RoaringBitmap();
+        for (int row = 0; row < s.size; row++) {
+            if (keep[row] != 0) result.add(s.ids[row]);
+        }
+        return result;
+    }
+
+    /**
+     * Clears rows outside [lo, hi]. Bounds are clamped above {@link #MISSING}, so missing values fail the
+     * range test without a separate comparison; (v - lo) | (hi - v) is negative exactly when v is out of range.
+     */
+    private static void scan(final byte[] keep, final short[] column, final int size,
+                             final GameColumnQuery query, final int c) {
+        int lo = Math.max(query.lo[c], MISSING + 1);
+        int hi = Math.min(query.hi[c], Short.MAX_VALUE);
+        for (int i = 0; i < size; i++) {
+            int v = column[i];
+            keep[i] &= (byte) ((((v - lo) | (hi - v)) >>> 31) ^ 1);
+        }
+    }
+
+    /**
+     * Clears rows whose mask lacks bit {@code shift}; a game without poll data has mask 0.
+     */
+    private static void scanBit(final byte[] keep, final int[] masks, final int size, final int shift) {
+        for (int i = 0; i < size; i++) {
+            keep[i] &= (byte) ((masks[i] >>> shift) & 1);
+        }
+    }
+
+    private static RoaringBitmap filterCandidates(final Snapshot s, final GameColumnQuery query,
+                                                  final RoaringBitmap candidates) {
+        RoaringBitmap result = new RoaringBitmap();
+        candidates.forEach((int id) -> {
+            int row = s.rowOf(id);
+            if (row >= 0 && s.matches(row, query)) {
+                result.add(id);
+            }
+        });
+        return result;
+    }
+
+    private static short shortOf(final ResultSet rs, final String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? MISSING : clampShort(value);
+    }
+
+    private static short shortOf(final Integer value) {
+        return value == null ? MISSING : clampShort(value);
+    }
+
+    private static short clampShort(final int value) {
+        return (short) Math.max(Short.MIN_VALUE + 1, Math.min(Short.MAX_VALUE, value));
+    }
+
+    private static short fixedPoint(final BigDecimal value) {
+        return value == null ? MISSING : clampShort(value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue());
+    }
+
+    /**
+     * Immutable column arrays. {@code rowById} maps a game id to its row (-1 when absent);
+     * game ids are BIGSERIAL values, so an id-indexed array stays dense.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, new int[0], new short[0], new short[0], new short[0],
+                new short[0], new short[0], new short[0], new int[0], new int[0]);
+
+        final int size;
+        final int[] ids;
+        final short[] minPlayers;
+        final short[] maxPlayers;
+        final short[] playingTime;
+        final short[] minAge;
+        final short[] year;
+        final short[] rating;
+        final int[] bestPlayers;
+        final int[] rowById;
+
+        Snapshot(int size, int[] ids, short[] minPlayers, short[] maxPlayers, short[] playingTime, short[] minAge,
+                 short[] year, short[] rating, int[] bestPlayers, int[] rowById) {
+            this.size = size;
+            this.ids = ids;
+            this.minPlayers = minPlayers;
+            this.maxPlayers = maxPlayers;
+            this.playingTime = playingTime;
+            this.minAge = minAge;
+            this.year = year;
+            this.rating = rating;
+            this.bestPlayers = bestPlayers;
+            this.rowById = rowById;
+        }
+
+        int rowOf(final int id) {
+            return id >= 0 && id < rowById.length ? rowById[id] : -1;
+        }
+
+        boolean matches(final int row, final GameColumnQuery q) {
+            return inRange(minPlayers[row], q, GameColumnQuery.MIN_PLAYERS)
+                    && inRange(maxPlayers[row], q, GameColumnQuery.MAX_PLAYERS)
+                    && inRange(playingTime[row], q, GameColumnQuery.PLAYING_TIME)
+                    && inRange(minAge[row], q, GameColumnQuery.MIN_AGE)
+                    && inRange(year[row], q, GameColumnQuery.YEAR)
+                    && inRange(rating[row], q, GameColumnQuery.RATING)
+                    && (q.bestWith == 0 || ((bestPlayers[row] >>> q.bestWith) & 1) != 0);
+        }
+
+        private static boolean inRange(final short v, final GameColumnQuery q, final int c) {
+            return !q.active[c] || (v != MISSING && v >= q.lo[c] && v <= q.hi[c]);
+        }
+    }
+
+    /**
+     * Copy of a snapshot with room to grow; rows are overwritten by id or appended.
+     */
+    private static final class SnapshotBuilder {
+
+        private int size;
+        private int[] ids;
+        private short[] minPlayers;
+        private short[] maxPlayers;
+        private short[] playingTime;
+        private short[] minAge;
+        private short[] year;
+        private short[] rating;
+        private int[] bestPlayers;
+        private int[] rowById;
+
+        SnapshotBuilder(final Snapshot base, final int capacity) {
+            int cap = Math.max(capacity, base.size);
+            size = base.size;
+            ids = Arrays.copyOf(base.ids, cap);
+            minPlayers = Arrays.copyOf(base.minPlayers, cap);
+            maxPlayers = Arrays.copyOf(base.maxPlayers, cap);
+            playingTime = Arrays.copyOf(base.playingTime, cap);
+            minAge = Arrays.copyOf(base.minAge, cap);
+            year = Arrays.copyOf(base.year, cap);
+            rating = Arrays.copyOf(base.rating, cap);
+            bestPlayers = Arrays.copyOf(base.bestPlayers, cap);
+            rowById = Arrays.copyOf(base.rowById, base.rowById.length);
+        }
+
+        void set(final long gameId, final short minPlayersValue, final short maxPlayersValue,
+                 final short playingTimeValue, final short minAgeValue, final short yearValue,
+                 final short ratingValue, final int bestPlayersValue) {
+            int id = Math.toIntExact(gameId);
+            ensureIdCapacity(id);
+            int row = rowById[id];
+            if (row < 0) {
+                ensureRowCapacity(size + 1);
+                row = size++;
+                rowById[id] = row;
+                ids[row] = id;
+            }
+            minPlayers[row] = minPlayersValue;
+            maxPlayers[row] = maxPlayersValue;
+            playingTime[row] = playingTimeValue;
+            minAge[row] = minAgeValue;
+            year[row] = yearValue;
+            rating[row] = ratingValue;
+            bestPlayers[row] = bestPlayersValue;
+        }
+
+        Snapshot build() {
+            return new Snapshot(size, ids, minPlayers, maxPlayers, playingTime, minAge, year, rating, bestPlayers, rowById);
+        }
+
+        private void ensureIdCapacity(final int id) {
+            if (id < rowById.length) return;
+            int oldLength = rowById.length;
+            rowById = Arrays.copyOf(rowById, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(rowById, oldLength, rowById.length, -1);
+        }
+
+        private void ensureRowCapacity(final int needed) {
+            if (needed <= ids.length) return;
+            int cap = Math.max(needed, ids.length * 2);
+            ids = Arrays.copyOf(ids, cap);
+            minPlayers = Arrays.copyOf(minPlayers, cap);
+            maxPlayers = Arrays.copyOf(maxPlayers, cap);
+            playingTime = Arrays.copyOf(playingTime, cap);
+            minAge = Arrays.copyOf(minAge, cap);
+            year = Arrays.copyOf(year, cap);
+            rating = Arrays.copyOf(rating, cap);
+            bestPlayers = Arrays.copyOf(bestPlayers, cap);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.bgpack.service;
+
+import com.bgpack.dto.GameSearchRequest;
+import com.bgpack.entity.GameAttributes;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * In-memory evaluation of {@link GameSearchRequest} filters and sorting on games and their list projections.
+ */
+public final class GameCriteria {
+
+    private GameCriteria() {
+    }
+
+    public static boolean matches(final GameAttributes game, final GameSearchRequest searchRequest) {
+        return matchesPlayerCount(game, searchRequest) &&
+                matchesPlayingTime(game, searchRequest) &&
+                matchesAge(game, searchRequest) &&
+                matchesRating(game, searchRequest) &&
+                matchesYear(game, searchRequest) &&
+                matchesBestWith(game, searchRequest);
+    }
+
+    private static boolean matchesPlayerCount(final GameAttributes game, final GameSearchRequest searchRequest) {
+        if (searchRequest.getMinPlayers() == null && searchRequest.getMaxPlayers() == null) {
+            return true;
+        }
+        boolean matchesMin = true;
+        if (searchRequest.getMinPlayers() != null) {
+            matchesMin = game.getMinPlayers() != null && game.getMinPlayers() <= searchRequest.getMinPlayers()
+                    && game.getMaxPlayers() != null && game.getMaxPlayers() >= searchRequest.getMinPlayers();
+        }
+        if (!matchesMin) return false;
+
+        if (searchRequest.getMaxPlayers() != null) {
+            return game.getMinPlayers() != null && game.getMinPlayers() <= searchRequest.getMaxPlayers()
+                    && game.getMaxPlayers() != null && game.getMaxPlayers() >= searchRequest.getMaxPlayers();
+        }
+        return true;
+    }
+
+    private static boolean matchesPlayingTime(final GameAttributes game, final GameSearchRequest searchRequest) {
+        boolean matchesMinTime = searchRequest.getMinPlayingTime() == null ||
+                (game.getPlayingTime() != null && game.getPlayingTime() >= searchRequest.getMinPlayingTime());
+        boolean matchesMaxTime = searchRequest.getMaxPlayingTime() == null ||
+                (game.getPlayingTime() != null && game.getPlayingTime() <= searchRequest.getMaxPlayingTime());
+        return matchesMinTime && matchesMaxTime;
+    }
+
+    private static boolean matchesAge(final GameAttributes game, final GameSearchRequest searchRequest) {
+        return searchRequest.getMinAge() == null || (game.getMinAge() != null && game.getMinAge() >= searchRequest.getMinAge());
+    }
+
+    private static boolean matchesRating(final GameAttributes game, final GameSearchRequest searchRequest) {
+        return searchRequest.getMinRating() == null ||
+                (game.getBggRating() != null && game.getBggRating().doubleValue() >= searchRequest.getMinRating());
+    }
+
+    private static boolean matchesYear(final GameAttributes game, final GameSearchRequest searchRequest) {
+        boolean matchesYearFrom = searchRequest.getYearFrom() == null ||
+                (game.getYearPublished() != null && game.getYearPublished() >= searchRequest.getYearFrom());
+        boolean matchesYearTo = searchRequest.getYearTo() == null ||
+                (game.getYearPublished() != null && game.getYearPublished() <= searchRequest.getYearTo());
+        return matchesYearFrom && matchesYearTo;
+    }
+
+    private static boolean matchesBestWith(final GameAttributes game, final GameSearchRequest searchRequest) {
+        return searchRequest.getBestWithPlayers() == null || game.isBestWith(searchRequest.getBestWithPlayers());
+    }
+
+    /**
+     * Comparator for the request's sortBy/sortOrder; games missing the sort value go last.
+     * {@code relevance} compares everything equal, so a stable sort keeps the incoming order.
+     */
+    public static Comparator<GameAttributes> comparator(final GameSearchRequest searchRequest) {
+        String sortBy = searchRequest.getSortBy() != null ? searchRequest.getSortBy() : "bggRating";
+        boolean descending = !"asc".equalsIgnoreCase(searchRequest.getSortOrder());
+        return switch (sortBy) {
+            case "relevance" -> (a, b) -> 0;
+            case "name" -> nullsLast(GameAttributes::getName, String.CASE_INSENSITIVE_ORDER, descending);
+            case "yearPublished" -> nullsLast(GameAttributes::getYearPublished, Comparator.<Integer>naturalOrder(), descending);
+            case "playingTime" -> nullsLast(GameAttributes::getPlayingTime, Comparator.<Integer>naturalOrder(), descending);
+            case "complexity" -> nullsLast(GameAttributes::getComplexity, Comparator.<BigDecimal>naturalOrder(), descending);
+            default -> nullsLast(GameAttributes::getBggRating, Comparator.<BigDecimal>naturalOrder(), descending);
+        };
+    }
+
+    private static <T> Comparator<GameAttributes> nullsLast(final Function<GameAttributes, T> key, final Comparator<T> order,
+                                                  final boolean descending) {
+        return Comparator.comparing(key, Comparator.nullsLast(descending ? order.reversed() : order));
+    }
+}
@@ -0,0 +1,78 @@
+package com.bgpack.service;
+
+import com.bgpack.entity.Game;
+import com.bgpack.repository.GameRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counter for {@code games.cache_hits}. Reads only bump a striped {@link LongAdder} per game;
+ * a scheduled flush adds the accumulated counts in one batched UPDATE, so cache reads never write rows.
+ * Counts are approximate: a hit racing the removal of an idle game's adder, or pending at a crash, is lost.
+ */
+@Slf4j
+@Component
+public class GameHitCounter {
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final GameRepository gameRepository;
+
+    public GameHitCounter(GameRepository gameRepository, MeterRegistry meterRegistry) {
+        this.gameRepository = gameRepository;
+        Gauge.builder("bgg.cache.hits.pending", pending, Map::size)
+                .description("Games with cache hits not yet flushed to the database")
+                .register(meterRegistry);
+    }
+
+    public void record(final Game game) {
+        if (game.getId() == null) return;
+        LongAdder adder = pending.get(game.getId());
+        if (adder == null) {
+            adder = pending.computeIfAbsent(game.getId(), id -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    /**
+     * Drains the counters into one batched UPDATE. Games without hits since the previous flush are dropped
+     * from the map, so it only holds recently read games. A failed write puts the counts back.
+     */
+    @Scheduled(fixedDelayString = "${bgg.cache.hit-flush-interval-ms:30000}",
+            initialDelayString = "${bgg.cache.hit-flush-interval-ms:30000}")
+    public void flush() {
+        Map<Long, Long> hits = new HashMap<>();
+        pending.forEach((id, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                hits.put(id, count);
+            } else {
+                pending.remove(id, adder);
+            }
+        });
+        if (hits.isEmpty()) return;
+
+        try {
+            gameRepository.addCacheHits(hits);
+            log.debug("Flushed {} cache hits for {} games",
+                    hits.values().stream().mapToLong(Long::longValue).sum(), hits.size());
+        } catch (Exception e) {
+            log.warn("Could not flush cache hits for {} games, keeping them for the next run: {}",
+                    hits.size(), e.getMessage());
+            hits.forEach((id, count) -> pending.computeIfAbsent(id, k -> new LongAdder()).add(count));
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,11 @@
+package com.bgpack.service;
+
+import com.bgpack.entity.Game;
+
+import java.util.List;
+
+/**
+ * Published by {@link GameCacheService} inside the write transaction with the persisted games.
+ */
+public record GamesChangedEvent(List<Game> games) {
+}
@@ -0,0 +1,119 @@
+package com.bgpack.service;
+
+import com.bgpack.dto.GameSummary;
+import com.bgpack.entity.Game;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Local-first name search. Answers from our games table when it is confident the table covers the query:
+ * enough hits, or a BGG search for the same query within {@code fresh-for-hours} (its hits were all
+ * stored). Otherwise it asks BGG within a time budget and merges the hits after the local ones. A slow,
+ * throttled, failing or circuit-broken BGG degrades to the local hits rather than an empty list; a BGG
+ * search that outlives the budget still completes in the background and fills the caches for next time.
+ */
+@Slf4j
+@Service
+public class LocalFirstSearchService {
+
+    private final CatalogSearchService catalogSearchService;
+    private final BggSearchService bggSearchService;
+    private final BggRateLimiter rateLimiter;
+    private final Scheduler blockingWorkScheduler;
+    private final MeterRegistry meterRegistry;
+    private final int minHits;
+    private final Duration bggBudget;
+    private final Cache<String, Boolean> recentBggSearches;
+
+    public LocalFirstSearchService(CatalogSearchService catalogSearchService,
+                                   BggSearchService bggSearchService,
+                                   BggRateLimiter rateLimiter,
+                                   Scheduler blockingWorkScheduler,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${bgg.search.local-first.min-hits:10}") int minHits,
+                                   @Value("${bgg.search.local-first.bgg-budget-ms:2500}") long bggBudgetMs,
+                                   @Value("${bgg.search.local-first.fresh-for-hours:24}") long freshForHours) {
+        this.catalogSearchService = catalogSearchService;
+        this.bggSearchService = bggSearchService;
+        this.rateLimiter = rateLimiter;
+        this.blockingWorkScheduler = blockingWorkScheduler;
+        this.meterRegistry = meterRegistry;
+        this.minHits = minHits;
+        this.bggBudget = Duration.ofMillis(bggBudgetMs);
+        this.recentBggSearches = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofHours(freshForHours))
+                .build();
+    }
+
+    /**
+     * @param normalizedQuery a query from {@link BggSearchService#normalizeQuery}
+     * @return local hits best match first, followed by BGG hits not found locally
+     */
+    public List<GameSummary> search(final String normalizedQuery) {
+        List<GameSummary> local = catalogSearchService.search(normalizedQuery);
+        if (local.size() >= minHits) {
+            return record("local", local);
+        }
+        if (recentBggSearches.getIfPresent(normalizedQuery) != null) {
+            return record("local_fresh", local);
+        }
+        // a permit would not even be granted within the budget; do not add to the queue
+        if (rateLimiter.getCurrentWait().compareTo(bggBudget) > 0) {
+            log.info("BGG search '{}' shed (rate limiter wait {} ms), serving {} local hits",
+                    normalizedQuery, rateLimiter.getCurrentWait().toMillis(), local.size());
+            return record("shed", local);
+        }
+
+        CompletableFuture<List<Game>> remote = Mono.fromCallable(() -> bggSearchService.search(normalizedQuery))
+                .doOnSuccess(hits -> recentBggSearches.put(normalizedQuery, Boolean.TRUE))
+                .subscribeOn(blockingWorkScheduler)
+                .toFuture();
+        try {
+            List<Game> hits = remote.get(bggBudget.toMillis(), TimeUnit.MILLISECONDS);
+            return record("merged", merge(local, hits));
+        } catch (TimeoutException e) {
+            log.info("BGG search '{}' exceeded {} ms, serving {} local hits", normalizedQuery,
+                    bggBudget.toMillis(), local.size());
+            return record("timeout", local);
+        } catch (ExecutionException e) {
+            log.warn("BGG search '{}' failed, serving {} local hits: {}", normalizedQuery, local.size(),
+                    e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return record("bgg_error", local);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return record("bgg_error", local);
+        }
+    }
+
+    private static List<GameSummary> merge(final List<GameSummary> local, final List<Game> remote) {
+        Map<String, GameSummary> byBggId = new LinkedHashMap<>();
+        local.forEach(game -> byBggId.put(game.getBggId(), game));
+        remote.forEach(game -> byBggId.putIfAbsent(game.getBggId(), GameSummary.from(game)));
+        return List.copyOf(byBggId.values());
+    }
+
+    /**
+     * {@code bgg.search.local_first} counts searches by how they were answered (tag {@code outcome}).
+     */
+    private List<GameSummary> record(final String outcome, final List<GameSummary> result) {
+        Counter.builder("bgg.search.local_first").tag("outcome", outcome).register(meterRegistry).increment();
+        return result;
+    }
+}
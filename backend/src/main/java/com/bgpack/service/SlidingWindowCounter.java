@@ -0,0 +1,77 @@
+package com.bgpack.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free event counter over a sliding window, kept as a ring of fixed-width buckets. Each slot packs
+ * the bucket's sequence number with its count in one long, so rolling a bucket over and counting into it
+ * is a single CAS, and a reader never mixes a stale count with a fresh bucket. Precision is one bucket.
+ */
+public final class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final long bucketNanos;
+    private final int buckets;
+    // Sequence numbers count from construction so they fit the bits left over by the count
+    private final long originNanos = System.nanoTime();
+
+    public SlidingWindowCounter(final Duration window, final int buckets) {
+        if (buckets < 1 || window.toMillis() < buckets) {
+            throw new IllegalArgumentException("Window must be at least 1 ms per bucket");
+        }
+        this.buckets = buckets;
+        this.bucketNanos = window.toNanos() / buckets;
+        this.slots = new AtomicLongArray(buckets);
+    }
+
+    public void increment() {
+        long bucket = currentBucket();
+        int index = (int) (bucket % buckets);
+        while (true) {
+            long slot = slots.get(index);
+            long next = sequence(slot) == bucket
+                    ? (count(slot) == COUNT_MASK ? slot : slot + 1)
+                    : (bucket << COUNT_BITS) | 1;
+            if (slots.compareAndSet(index, slot, next)) return;
+        }
+    }
+
+    /**
+     * Events counted in the buckets that are still inside the window.
+     */
+    public long sum() {
+        long bucket = currentBucket();
+        long oldest = bucket - buckets + 1;
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            long slot = slots.get(i);
+            long sequence = sequence(slot);
+            if (sequence >= oldest && sequence <= bucket) {
+                total += count(slot);
+            }
+        }
+        return total;
+    }
+
+    public void clear() {
+        for (int i = 0; i < buckets; i++) {
+            slots.set(i, 0);
+        }
+    }
+
+    private long currentBucket() {
+        return (System.nanoTime() - originNanos) / bucketNanos;
+    }
+
+    private static long sequence(final long slot) {
+        return slot >>> COUNT_BITS;
+    }
+
+    private static long count(final long slot) {
+        return slot & COUNT_MASK;
+    }
+}
@@ -0,0 +1,130 @@
+package com.bgpack.service;
+
+import com.bgpack.entity.SyncJob;
+import com.bgpack.repository.SyncJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Durable queue of collection syncs BGG answered with 202. Rows live in {@code sync_jobs}, so a job survives
+ * restarts and can be picked up by any instance; {@link SyncJobWorker} drains it.
+ */
+@Slf4j
+@Service
+public class SyncJobService {
+
+    private final SyncJobRepository syncJobRepository;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    public SyncJobService(SyncJobRepository syncJobRepository,
+                          @Value("${bgg.sync-jobs.max-attempts:10}") int maxAttempts,
+                          @Value("${bgg.sync-jobs.initial-backoff-seconds:15}") long initialBackoffSeconds,
+                          @Value("${bgg.sync-jobs.max-backoff-seconds:600}") long maxBackoffSeconds,
+                          @Value("${bgg.sync-jobs.lease-seconds:300}") long leaseSeconds) {
+        this.syncJobRepository = syncJobRepository;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    /**
+     * Returns the open job for (username, subtype), creating it if there is none. Safe to call concurrently
+     * from several instances: the partial unique index lets only one insert through.
+     */
+    @Transactional
+    public SyncJob enqueue(final String username, final String subtype) {
+        syncJobRepository.insertIfNoneOpen(username, subtype);
+        return syncJobRepository.findOpen(username, subtype).orElseGet(() -> {
+            // The open job finished between the two statements; open a fresh one
+            syncJobRepository.insertIfNoneOpen(username, subtype);
+            return syncJobRepository.findOpen(username, subtype).orElseThrow();
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SyncJob> getJob(final Long id) {
+        return syncJobRepository.findById(id);
+    }
+
+    /**
+     * Claims up to {@code limit} due jobs for this worker: marks them RUNNING under a lease and a fresh claim
+     * token and commits, so the row locks are held only for the claim itself, never while BGG is being called.
+     */
+    @Transactional
+    public List<SyncJob> claimDueJobs(final int limit) {
+        List<SyncJob> jobs = syncJobRepository.lockDueJobs(limit);
+        ZonedDateTime lockedUntil = ZonedDateTime.now().plus(lease);
+        for (SyncJob job : jobs) {
+            job.setStatus(SyncJob.Status.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLockedUntil(lockedUntil);
+            job.setClaimToken(UUID.randomUUID());
+        }
+        return syncJobRepository.saveAll(jobs);
+    }
+
+    /**
+     * Marks a job claimed by {@link #claimDueJobs} as done. Does nothing if the lease expired and the job
+     * was reclaimed meanwhile.
+     */
+    @Transactional
+    public void complete(final SyncJob claimed) {
+        if (syncJobRepository.finishClaimed(claimed.getId(), claimed.getClaimToken(), SyncJob.Status.DONE,
+                null, ZonedDateTime.now()) == 0) {
+            logLostClaim(claimed);
+            return;
+        }
+        log.info("Sync job {} for user {} done after {} attempt(s)",
+                claimed.getId(), claimed.getUsername(), claimed.getAttempts());
+    }
+
+    /**
+     * Puts a claimed job back in the queue with exponential backoff, or fails it once {@code maxAttempts} is
+     * reached. Does nothing if the lease expired and the job was reclaimed meanwhile.
+     */
+    @Transactional
+    public void retryLater(final SyncJob claimed, final String reason) {
+        ZonedDateTime now = ZonedDateTime.now();
+        if (claimed.getAttempts() >= maxAttempts) {
+            if (syncJobRepository.finishClaimed(claimed.getId(), claimed.getClaimToken(), SyncJob.Status.FAILED,
+                    reason, now) == 0) {
+                logLostClaim(claimed);
+                return;
+            }
+            log.warn("Sync job {} for user {} failed after {} attempts: {}",
+                    claimed.getId(), claimed.getUsername(), claimed.getAttempts(), reason);
+            return;
+        }
+        Duration delay = backoff(claimed.getAttempts());
+        if (syncJobRepository.rescheduleClaimed(claimed.getId(), claimed.getClaimToken(), reason,
+                now.plus(delay), now) == 0) {
+            logLostClaim(claimed);
+            return;
+        }
+        log.info("Sync job {} for user {} retrying in {}s ({})",
+                claimed.getId(), claimed.getUsername(), delay.toSeconds(), reason);
+    }
+
+    private void logLostClaim(final SyncJob claimed) {
+        log.warn("Sync job {} for user {}: lease expired and the job was reclaimed, dropping this run's outcome",
+                claimed.getId(), claimed.getUsername());
+    }
+
+    private Duration backoff(final int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,54 @@
+package com.bgpack.service;
+
+import com.bgpack.entity.SyncJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls {@code sync_jobs} and retries queued collection syncs. Every instance runs a worker; claiming with
+ * {@code FOR UPDATE SKIP LOCKED} keeps two workers from taking the same job.
+ */
+@Slf4j
+@Component
+public class SyncJobWorker {
+
+    private final SyncJobService syncJobService;
+    private final BggService bggService;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public SyncJobWorker(SyncJobService syncJobService,
+                         BggService bggService,
+                         @Value("${bgg.sync-jobs.enabled:true}") boolean enabled,
+                         @Value("${bgg.sync-jobs.batch-size:5}") int batchSize) {
+        this.syncJobService = syncJobService;
+        this.bggService = bggService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${bgg.sync-jobs.poll-interval-ms:5000}",
+            initialDelayString = "${bgg.sync-jobs.poll-interval-ms:5000}")
+    public void drainDueJobs() {
+        if (!enabled) return;
+        for (SyncJob job : syncJobService.claimDueJobs(batchSize)) {
+            run(job);
+        }
+    }
+
+    private void run(final SyncJob job) {
+        try {
+            CollectionSyncResult result = bggService.syncCollection(job.getUsername(), job.getSubtype());
+            if (result.status() == CollectionSyncResult.Status.SYNCED) {
+                syncJobService.complete(job);
+            } else {
+                syncJobService.retryLater(job, result.status().name());
+            }
+        } catch (Exception e) {
+            log.warn("Sync job {} for user {} threw: {}", job.getId(), job.getUsername(), e.getMessage());
+            syncJobService.retryLater(job, e.getMessage());
+        }
+    }
+}
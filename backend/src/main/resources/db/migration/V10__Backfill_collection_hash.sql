@@ -0,0 +1,17 @@
+-- V5 added collection_hash without values, and stored collections used to be served only once it was set.
+-- Backfill it for every synced user with the same expression UserCollectionRepositoryCustomImpl uses
+-- (an empty collection hashes the empty string), so existing users keep their stored copy after deploy.
+UPDATE users u
+SET collection_hash = (
+        SELECT md5(COALESCE(string_agg(concat_ws('|', g.id, g.bgg_id, g.name, g.description, g.year_published,
+                                                 g.min_players, g.max_players, g.playing_time, g.min_age,
+                                                 g.image_url, g.thumbnail_url, g.rank, g.bgg_rating,
+                                                 g.average_rating, g.complexity, g.suggested_num_players::text,
+                                                 g.recommended_players::text, uc.rating, uc.status),
+                                       ',' ORDER BY g.id), ''))
+        FROM user_collections uc
+        JOIN games g ON g.id = uc.game_id
+        WHERE uc.user_id = u.id),
+    collection_changed_at = COALESCE(u.collection_changed_at, u.last_sync)
+WHERE u.collection_hash IS NULL
+  AND u.last_sync IS NOT NULL;
@@ -0,0 +1,10 @@
+-- collection_hash now covers only the user's own user_collections rows; shared game columns are versioned by
+-- max(games.last_updated) at read time instead. Recompute it with the expression UserCollectionRepositoryCustomImpl
+-- now uses, so the next sync of an unchanged collection does not see a new hash and move collection_changed_at.
+UPDATE users u
+SET collection_hash = (
+        SELECT md5(COALESCE(string_agg(concat_ws('|', uc.game_id, uc.rating, uc.status),
+                                       ',' ORDER BY uc.game_id), ''))
+        FROM user_collections uc
+        WHERE uc.user_id = u.id)
+WHERE u.last_sync IS NOT NULL;
@@ -0,0 +1,26 @@
+-- Durable queue of BGG collection syncs that BGG answered with 202 ("queued").
+-- Workers on any instance claim due jobs with FOR UPDATE SKIP LOCKED; a RUNNING job whose
+-- lease (locked_until) has expired is considered abandoned and can be claimed again.
+CREATE TABLE IF NOT EXISTS sync_jobs (
+    id              BIGSERIAL PRIMARY KEY,
+    username        VARCHAR(50) NOT NULL,
+    subtype         VARCHAR(20),
+    status          VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts        INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    locked_until    TIMESTAMP WITH TIME ZONE,
+    last_error      TEXT,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    CONSTRAINT chk_sync_jobs_status CHECK (status IN ('PENDING', 'RUNNING', 'DONE', 'FAILED'))
+);
+
+-- At most one open job per (username, subtype); enqueueing is an INSERT ... ON CONFLICT DO NOTHING
+CREATE UNIQUE INDEX IF NOT EXISTS ux_sync_jobs_open
+    ON sync_jobs(username, COALESCE(subtype, ''))
+    WHERE status IN ('PENDING', 'RUNNING');
+
+-- Claim scan: only open jobs, ordered by due time
+CREATE INDEX IF NOT EXISTS idx_sync_jobs_due
+    ON sync_jobs(next_attempt_at)
+    WHERE status IN ('PENDING', 'RUNNING');
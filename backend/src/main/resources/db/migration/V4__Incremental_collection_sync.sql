@@ -0,0 +1,3 @@
+-- When the user's collection was last fetched in full (no modifiedsince filter). Incremental syncs
+-- cannot see removals, so a full fetch is forced once this is older than bgg.collections.full-sync-interval-hours.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_full_sync TIMESTAMP WITH TIME ZONE;
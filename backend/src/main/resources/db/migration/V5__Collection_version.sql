@@ -0,0 +1,5 @@
+-- Version of the stored collection, used as the ETag / Last-Modified of /api/games/user/{username}.
+-- collection_hash is an md5 over the user's collection rows and their games' content columns, recomputed
+-- after every sync; collection_changed_at only moves when the hash does.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS collection_hash VARCHAR(32);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS collection_changed_at TIMESTAMP WITH TIME ZONE;
@@ -0,0 +1,9 @@
+-- Composite indexes for keyset (cursor) pagination: each matches one browse order exactly, with id as the
+-- tie-breaker, so fetching the page after a (sort value, id) cursor is an index range scan at any depth.
+CREATE INDEX IF NOT EXISTS idx_games_rank_id ON games(rank, id);
+CREATE INDEX IF NOT EXISTS idx_games_bgg_rating_id ON games(bgg_rating DESC, id);
+CREATE INDEX IF NOT EXISTS idx_games_lower_name_id ON games(lower(name), id);
+
+-- Covered by the composites above (same leading column)
+DROP INDEX IF EXISTS idx_games_rank;
+DROP INDEX IF EXISTS idx_games_bgg_rating;
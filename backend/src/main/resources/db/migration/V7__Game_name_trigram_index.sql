@@ -0,0 +1,5 @@
+-- Trigram index for local game-name search: serves LIKE '%x%' on lower(name) and the pg_trgm similarity
+-- operator (%), which a B-tree cannot. pg_trgm is a trusted extension, so the database owner may create it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_games_name_trgm ON games USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,4 @@
+-- Player counts the /thing suggested_numplayers poll voted best, bit n set for n players (1..30).
+-- Derived from recommended_players when a game is parsed, so "best at N" filters test one integer instead of
+-- reading the JSONB per row. The poll columns were never filled before this version, so there is nothing to backfill.
+ALTER TABLE games ADD COLUMN IF NOT EXISTS best_players_mask INTEGER;
@@ -0,0 +1,3 @@
+-- Identifies the claim a RUNNING job is held under. A worker whose lease expired and whose job was reclaimed
+-- no longer matches it, so its late complete/retry updates no rows instead of overwriting the new run.
+ALTER TABLE sync_jobs ADD COLUMN IF NOT EXISTS claim_token UUID;
@@ -211,7 +211,7 @@ export const GameListPage: React.FC = () => {
                   WebkitBoxOrient: 'vertical',
                 }}
               >
-                {game.description}
+                {game.description ?? game.descriptionExcerpt}
               </p>
 
               <div className="space-y-2 text-sm text-gray-600">
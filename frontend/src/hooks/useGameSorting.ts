@@ -124,7 +124,9 @@ export const useGameSearch = (games: Game[], searchQuery: string) => {
     return games.filter(
       game =>
         game.name.toLowerCase().includes(query) ||
-        game.description.toLowerCase().includes(query)
+        (game.description ?? game.descriptionExcerpt ?? '')
+          .toLowerCase()
+          .includes(query)
     );
   }, [games, searchQuery]);
 
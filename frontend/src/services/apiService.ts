@@ -3,6 +3,7 @@ import {
   GameSearchParams,
   Preset,
   SavePresetRequest,
+  SyncJob,
 } from '@/types/Game';
 import { GameList, SaveGameListRequest } from '@/types/GameList';
 
@@ -11,6 +12,14 @@ const API_BASE_URL =
 
 const MAX_RETRIES = 3;
 const RETRY_DELAY_MS = 1000;
+const SYNC_JOB_POLL_MS = 3000;
+const SYNC_JOB_MAX_WAIT_MS = 180000;
+
+const isSyncJob = (value: unknown): value is SyncJob =>
+  typeof value === 'object' &&
+  value !== null &&
+  !Array.isArray(value) &&
+  'jobId' in value;
 
 class ApiService {
   private async request<T>(
@@ -64,12 +73,41 @@ class ApiService {
     return this.request<Game[]>(endpoint);
   }
 
+  async getGame(bggId: string): Promise<Game> {
+    return this.request<Game>(`/games/${bggId}`);
+  }
+
   async getUserGamesWithStats(
     username: string,
     excludeExpansions: boolean = false
   ): Promise<Game[]> {
     const url = `/games/user/${username}?excludeExpansions=${excludeExpansions}`;
-    return this.request<Game[]>(url);
+    const result = await this.request<Game[] | SyncJob>(url);
+    if (!isSyncJob(result)) {
+      return result;
+    }
+
+    // 202: BGG is still preparing the collection; the backend queued a sync job
+    await this.waitForSyncJob(result);
+    const games = await this.request<Game[] | SyncJob>(url);
+    return isSyncJob(games) ? [] : games;
+  }
+
+  private async waitForSyncJob(job: SyncJob): Promise<void> {
+    const deadline = Date.now() + SYNC_JOB_MAX_WAIT_MS;
+    let current = job;
+    while (current.status !== 'DONE') {
+      if (current.status === 'FAILED') {
+        throw new Error(
+          `Collection sync failed for ${current.username}: ${current.lastError ?? 'unknown error'}`
+        );
+      }
+      if (Date.now() > deadline) {
+        throw new Error(`Collection sync for ${current.username} timed out`);
+      }
+      await new Promise(resolve => setTimeout(resolve, SYNC_JOB_POLL_MS));
+      current = await this.request<SyncJob>(`/sync-jobs/${current.jobId}`);
+    }
   }
 
   async testConnection(): Promise<string> {
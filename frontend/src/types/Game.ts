@@ -2,7 +2,9 @@ export interface Game {
   id: number;
   bggId: string;
   name: string;
-  description: string;
+  /** Only on the detail endpoint; lists carry descriptionExcerpt. */
+  description?: string;
+  descriptionExcerpt?: string | null;
   yearPublished: number;
   minPlayers: number;
   maxPlayers: number;
@@ -13,8 +15,9 @@ export interface Game {
   rank?: number | null;
   bggRating: number | null;
   complexity: number | null;
-  suggestedNumPlayers?: string | null;
-  recommendedPlayers?: Record<string, any> | null;
+  /** Player-count poll votes: count ("4+" for open-ended) -> [best, recommended, not recommended]. */
+  suggestedNumPlayers?: Record<string, [number, number, number]> | null;
+  recommendedPlayers?: { best: number[]; recommended: number[] } | null;
   cachedAt?: string;
   cacheHits?: number;
   lastUpdated?: string;
@@ -29,6 +32,8 @@ export interface GameFilters {
   minAge?: number;
   minRating?: number;
   exactPlayerFilter?: boolean;
+  /** Only games voted best at this player count. */
+  bestWithPlayers?: number;
 }
 
 export interface GameSearchParams {
@@ -39,13 +44,17 @@ export interface GameSearchParams {
   maxPlayingTime?: number;
   minAge?: number;
   minRating?: number;
+  bestWithPlayers?: number;
   sortBy?:
+    | 'relevance'
     | 'name'
     | 'yearPublished'
     | 'bggRating'
     | 'playingTime'
     | 'complexity';
   sortOrder?: 'asc' | 'desc';
+  /** AUTO (default): stored games first, BGG when too few; BGG: BoardGameGeek only; LOCAL: stored games only. */
+  source?: 'AUTO' | 'BGG' | 'LOCAL';
   page?: number;
   size?: number;
 }
@@ -67,3 +76,13 @@ export interface SavePresetRequest {
   presetName: string;
   criteria: PresetCriteria;
 }
+
+export interface SyncJob {
+  jobId: number;
+  username: string;
+  status: 'PENDING' | 'RUNNING' | 'DONE' | 'FAILED';
+  attempts: number;
+  nextAttemptAt: string;
+  lastError?: string | null;
+  updatedAt: string;
+}